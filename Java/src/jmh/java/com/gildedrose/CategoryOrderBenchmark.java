@@ -0,0 +1,76 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How much the order of items in the array costs the daily update.
+
+ * - order RANDOM: categories shuffled, as InventoryGenerator makes them
+ * - order SORTED: the same items, stably sorted by category, so the
+ *   branch chain in GildedRose goes the same way for long runs
+
+ * Comparing GILDED_ROSE on both orders shows what branch mispredictions
+ * cost; CATEGORY_BATCHED should score about the same on both, since
+ * it batches by category whatever the array order.
+
+ * Hardware counters need Linux perf:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="CategoryOrderBenchmark -prof perfnorm"
+ * reports branch-misses per tick next to the scores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class CategoryOrderBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    // InventoryGenerator.Mix constant
+    @Param({"REALISTIC"})
+    String mix;
+
+    @Param({"RANDOM", "SORTED"})
+    String order;
+
+    // EngineVariant constant
+    @Param({"GILDED_ROSE", "CATEGORY_BATCHED"})
+    String engine;
+
+    private EngineVariant.Engine loaded;
+
+    /**
+     * Reloaded every iteration, like UpdateQualityBenchmark, so items
+     * do not all settle at their limits.
+     */
+    @Setup(Level.Iteration)
+    public void load() {
+        Item[] items = InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.valueOf(mix));
+        if (order.equals("SORTED")) {
+            Arrays.sort(items, Comparator.comparing((Item item) -> ItemCategory.resolve(item.name)));
+        }
+        loaded = EngineVariant.valueOf(engine).load(items);
+    }
+
+    @Benchmark
+    public void tick() {
+        loaded.tick();
+    }
+}
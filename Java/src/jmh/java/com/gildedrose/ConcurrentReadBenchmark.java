@@ -0,0 +1,96 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Many reader threads against one updater thread.
+
+ * - snapshot: ConcurrentInventory, readers never block
+ * - locked: GildedRose guarded by a ReadWriteLock, the simplest way
+ *   to get consistent reads; readers wait for the whole tick
+
+ * Compare the "read" scores of both groups: with copy-on-write
+ * generations, reader throughput should not drop while ticks run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentReadBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    private ConcurrentInventory inventory;
+    private GildedRose app;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Setup(Level.Iteration)
+    public void load() {
+        Item[] items = InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.REALISTIC);
+        inventory = new ConcurrentInventory(items);
+        app = new GildedRose(InventoryGenerator.copy(items));
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(7)
+    public int snapshotRead() {
+        InventorySnapshot snapshot = inventory.snapshot();
+        int i = ThreadLocalRandom.current().nextInt(size);
+        return snapshot.quality(i) + snapshot.sellIn(i);
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public void snapshotUpdate() {
+        inventory.updateQuality();
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(7)
+    public int lockedRead() {
+        int i = ThreadLocalRandom.current().nextInt(size);
+        lock.readLock().lock();
+        try {
+            Item item = app.items[i];
+            return item.quality + item.sellIn;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public void lockedUpdate() {
+        lock.writeLock().lock();
+        try {
+            app.updateQuality();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
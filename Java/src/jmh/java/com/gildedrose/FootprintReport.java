@@ -0,0 +1,34 @@
+package com.gildedrose;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints retained heap bytes per item for each inventory representation,
+ * measured with JOL (walks the full object graph, shared names included).
+
+ * The Item[] case uses a fresh String per item, as items parsed from a
+ * text feed would have. Run with:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.gildedrose.FootprintReport -Djmh.args=1000000
+ */
+public class FootprintReport {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        Item[] items = InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.REALISTIC);
+        for (Item item : items) {
+            // Simulate parsed input: every item owns its own name copy
+            item.name = new String(item.name.toCharArray());
+        }
+
+        System.out.println("items: " + size);
+        System.out.println("representation, total bytes, bytes/item");
+        print("Item[] (own names)", GraphLayout.parseInstance((Object) items).totalSize(), size);
+        print("ColumnarInventory", GraphLayout.parseInstance(ColumnarInventory.fromItems(items)).totalSize(), size);
+        print("CompactInventory", GraphLayout.parseInstance(CompactInventory.fromItems(items)).totalSize(), size);
+    }
+
+    private static void print(String name, long bytes, int size) {
+        System.out.printf("%s, %d, %.1f%n", name, bytes, (double) bytes / size);
+    }
+}
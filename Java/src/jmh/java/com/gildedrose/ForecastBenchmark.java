@@ -0,0 +1,102 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What-if forecasting: "scenarioCount" scenarios over a "size" item
+ * inventory, "days" days ahead, each selling or holding
+ * "changes" items and receiving as many new ones.
+
+ * - forecast: InventoryForecast end to end, base trajectory included
+ * - scenarios: only the scenario runs, on a forecast built in setup
+ * - cloneAndUpdateOneScenario: what callers did before, for ONE
+ *   scenario (copy the Item[], updateQuality() every day, sum quality).
+ *   Multiply by "scenarioCount" to compare with forecast; running all of
+ *   them this way would take hours at the default sizes.
+
+ * Usage:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ForecastBenchmark"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ForecastBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    @Param({"1000"})
+    int scenarioCount;
+
+    @Param({"90"})
+    int days;
+
+    @Param({"100"})
+    int changes;
+
+    private Item[] items;
+    private List<InventoryForecast.Scenario> scenarios;
+    private InventoryForecast forecast;
+
+    @Setup(Level.Trial)
+    public void load() {
+        items = InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.REALISTIC);
+        Random random = new Random(42L);
+        scenarios = new ArrayList<>(scenarioCount);
+        for (int s = 0; s < scenarioCount; s++) {
+            InventoryForecast.Scenario scenario = new InventoryForecast.Scenario(days);
+            int first = random.nextInt(size - changes);
+            for (int c = 0; c < changes; c++) {
+                scenario.removeOn(random.nextInt(days + 1), first + c);
+                scenario.addOn(random.nextInt(days + 1), InventoryGenerator.randomItem(random));
+            }
+            scenarios.add(scenario);
+        }
+        forecast = InventoryForecast.of(items, days);
+    }
+
+    @Benchmark
+    public InventoryForecast.Trajectory[] forecast() {
+        return InventoryForecast.of(items, days).run(scenarios);
+    }
+
+    @Benchmark
+    public InventoryForecast.Trajectory[] scenarios() {
+        return forecast.run(scenarios);
+    }
+
+    @Benchmark
+    public long[] cloneAndUpdateOneScenario() {
+        Item[] copy = InventoryGenerator.copy(items);
+        GildedRose app = new GildedRose(copy);
+        long[] totals = new long[days + 1];
+        for (int day = 0; day <= days; day++) {
+            long total = 0;
+            for (Item item : copy) {
+                total += item.quality;
+            }
+            totals[day] = total;
+            app.updateQuality();
+        }
+        return totals;
+    }
+}
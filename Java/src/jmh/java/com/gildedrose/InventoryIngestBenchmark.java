@@ -0,0 +1,105 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One business day of a live inventory: deliveries arrive, items are
+ * sold, and then every item is updated once.
+
+ * - inventory: Inventory container (append, clear slots, compact)
+ * - rebuild: what callers did before, copying the Item[] for every
+ *   delivery and every sale and handing it to a new GildedRose
+
+ * The number of items sold each day equals the number delivered, so
+ * the inventory stays at "size" items.
+
+ * Parameters:
+ * - size: items in stock
+ * - deliveries: deliveries per day (ingest rate between ticks)
+ * - deliverySize: items per delivery
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryIngestBenchmark {
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"1", "10", "100"})
+    int deliveries;
+
+    @Param({"100"})
+    int deliverySize;
+
+    private Random random;
+    private Item[][] deliveryBatches;
+    private Inventory inventory;
+    private Item[] rebuilt;
+
+    @Setup(Level.Iteration)
+    public void load() {
+        random = new Random(42L);
+        deliveryBatches = new Item[deliveries][];
+        for (int d = 0; d < deliveries; d++) {
+            deliveryBatches[d] = InventoryGenerator.randomItems(d, deliverySize);
+        }
+        Item[] stock = InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.REALISTIC);
+        inventory = new Inventory(size);
+        inventory.addAll(InventoryGenerator.copy(stock));
+        rebuilt = stock;
+    }
+
+    @Benchmark
+    public Inventory inventory() {
+        for (Item[] delivery : deliveryBatches) {
+            inventory.addAll(InventoryGenerator.copy(delivery));
+            for (int sold = 0; sold < delivery.length; sold++) {
+                int position = random.nextInt(inventory.slots());
+                while (inventory.get(position) == null) {
+                    position = random.nextInt(inventory.slots());
+                }
+                inventory.remove(position);
+            }
+        }
+        inventory.updateQuality();
+        return inventory;
+    }
+
+    @Benchmark
+    public Item[] rebuild() {
+        for (Item[] delivery : deliveryBatches) {
+            Item[] grown = Arrays.copyOf(rebuilt, rebuilt.length + delivery.length);
+            System.arraycopy(InventoryGenerator.copy(delivery), 0, grown, rebuilt.length, delivery.length);
+            rebuilt = grown;
+            for (int sold = 0; sold < delivery.length; sold++) {
+                int position = random.nextInt(rebuilt.length);
+                Item[] shrunk = new Item[rebuilt.length - 1];
+                System.arraycopy(rebuilt, 0, shrunk, 0, position);
+                System.arraycopy(rebuilt, position + 1, shrunk, position, shrunk.length - position);
+                rebuilt = shrunk;
+            }
+        }
+        GildedRose app = new GildedRose(rebuilt);
+        app.updateQuality();
+        return rebuilt;
+    }
+}
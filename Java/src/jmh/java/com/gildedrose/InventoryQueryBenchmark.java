@@ -0,0 +1,66 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of IndexedInventory on a large inventory.
+ * Setup runs a few ticks so the expiry index is queried with a
+ * non-zero epoch, as it would be in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class InventoryQueryBenchmark {
+
+    @Param({"10000000"})
+    int size;
+
+    private IndexedInventory indexed;
+
+    @Setup
+    public void load() {
+        indexed = new IndexedInventory(InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.REALISTIC));
+        for (int day = 0; day < 3; day++) {
+            indexed.updateQuality();
+        }
+    }
+
+    /**
+     * "Which backstage passes hit the 5-day tier tomorrow".
+     */
+    @Benchmark
+    public int[] backstagePassesEnteringFiveDayTier() {
+        return indexed.query(ItemCategory.BACKSTAGE_PASS, 6, 6, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Narrow quality band of one category, e.g. Aged Brie about to max out.
+     */
+    @Benchmark
+    public int[] agedBrieNearMaximum() {
+        return indexed.query(ItemCategory.AGED_BRIE, Integer.MIN_VALUE, Integer.MAX_VALUE, 49, 49);
+    }
+
+    /**
+     * Items expiring today.
+     */
+    @Benchmark
+    public int[] expiringToday() {
+        return indexed.withSellInBetween(0, 0);
+    }
+}
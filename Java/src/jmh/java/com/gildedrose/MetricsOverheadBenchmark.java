@@ -0,0 +1,149 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of InventoryMetrics on GildedRose.updateQuality().
+
+ * - baseline: a copy of updateQuality() as it was before metrics
+ *   were added (see Baseline below)
+ * - none: GildedRose(items), metrics disabled
+ * - enabled: GildedRose(items, metrics)
+
+ * "none" should score within noise of "baseline": the disabled path
+ * must cost nothing. All three run in the same fork settings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"baseline", "none", "enabled"})
+    String metrics;
+
+    @Param({"100000"})
+    int size;
+
+    private Runnable app;
+
+    @Setup(Level.Iteration)
+    public void load() {
+        Item[] items = InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.REALISTIC);
+        if (metrics.equals("baseline")) {
+            app = new Baseline(items)::updateQuality;
+        } else if (metrics.equals("enabled")) {
+            app = new GildedRose(items, new InventoryMetrics())::updateQuality;
+        } else {
+            app = new GildedRose(items)::updateQuality;
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        app.run();
+    }
+
+    /*
+     * GildedRose.updateQuality() before InventoryMetrics existed: the
+     * cached-category loop with no metrics, clamp or change log checks.
+     */
+    static final class Baseline {
+
+        private final Item[] items;
+        private final String[] classifiedNames;
+        private final ItemCategory[] categories;
+
+        Baseline(Item[] items) {
+            this.items = items;
+            this.classifiedNames = new String[items.length];
+            this.categories = new ItemCategory[items.length];
+        }
+
+        void updateQuality() {
+            for (int i = 0; i < items.length; i++) {
+                Item item = items[i];
+                ItemCategory category = categoryOf(i);
+                updateItemQuality(item, category);
+                if (category != ItemCategory.SULFURAS) {
+                    item.sellIn--;
+                }
+                handleExpiredItem(item, category);
+            }
+        }
+
+        private ItemCategory categoryOf(int index) {
+            String name = items[index].name;
+            if (classifiedNames[index] != name) {
+                categories[index] = ItemCategory.resolve(name);
+                classifiedNames[index] = name;
+            }
+            return categories[index];
+        }
+
+        private static void updateItemQuality(Item item, ItemCategory category) {
+            if (category == ItemCategory.AGED_BRIE) {
+                increaseQuality(item);
+            } else if (category == ItemCategory.BACKSTAGE_PASS) {
+                increaseQuality(item);
+                if (item.sellIn <= 10) {
+                    increaseQuality(item);
+                }
+                if (item.sellIn <= 5) {
+                    increaseQuality(item);
+                }
+            } else if (category != ItemCategory.SULFURAS) {
+                checkConjured(item, category);
+            }
+        }
+
+        private static void handleExpiredItem(Item item, ItemCategory category) {
+            if (item.sellIn >= 0) {
+                return;
+            }
+            if (category == ItemCategory.AGED_BRIE) {
+                increaseQuality(item);
+            } else if (category == ItemCategory.BACKSTAGE_PASS) {
+                item.quality = 0;
+            } else if (category != ItemCategory.SULFURAS) {
+                checkConjured(item, category);
+            }
+        }
+
+        private static void checkConjured(Item item, ItemCategory category) {
+            if (category == ItemCategory.CONJURED) {
+                decreaseQuality(item);
+                decreaseQuality(item);
+            } else {
+                decreaseQuality(item);
+            }
+        }
+
+        private static void increaseQuality(Item item) {
+            if (item.quality < 50) {
+                item.quality++;
+            }
+        }
+
+        private static void decreaseQuality(Item item) {
+            if (item.quality > 0) {
+                item.quality--;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing one day's report of LINES items to a stream that discards
+ * the bytes, so only formatting and buffering are measured.
+
+ * - println: what TexttestFixture did, PrintStream.println(item)
+ * - bufferedWriter: BufferedWriter.write(item.toString()) + newLine()
+ * - reportWriter: ReportWriter.write(item)
+
+ * Scores are lines/sec (one operation = one line). With -prof gc,
+ * gc.alloc.rate.norm is the allocation per line.
+
+ * Usage:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ReportWriterBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportWriterBenchmark {
+
+    static final int LINES = 100_000;
+
+    private Item[] items;
+    private PrintStream printStream;
+    private BufferedWriter bufferedWriter;
+    private ReportWriter reportWriter;
+
+    @Setup(Level.Trial)
+    public void load() {
+        items = InventoryGenerator.randomItems(42L, LINES, InventoryGenerator.Mix.REALISTIC);
+        OutputStream discard = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        printStream = new PrintStream(new BufferedOutputStream(discard, ReportWriter.DEFAULT_BUFFER_SIZE), false);
+        bufferedWriter = new BufferedWriter(
+            new OutputStreamWriter(discard, StandardCharsets.UTF_8), ReportWriter.DEFAULT_BUFFER_SIZE);
+        reportWriter = new ReportWriter(discard);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void println() {
+        for (Item item : items) {
+            printStream.println(item);
+        }
+        printStream.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void bufferedWriter() throws IOException {
+        for (Item item : items) {
+            bufferedWriter.write(item.toString());
+            bufferedWriter.newLine();
+        }
+        bufferedWriter.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void reportWriter() throws IOException {
+        reportWriter.writeAll(items);
+        reportWriter.flush();
+    }
+}
@@ -0,0 +1,73 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows that RuleBasedGildedRose costs the same per item whether
+ * 4 or 64 rules are registered and in use.
+
+ * The inventory spreads items evenly over every registered rule,
+ * so all of them are exercised on each tick.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleDispatchBenchmark {
+
+    @Param({"4", "8", "16", "32", "64"})
+    int categories;
+
+    @Param({"100000"})
+    int size;
+
+    private RuleBasedGildedRose app;
+
+    @Setup(Level.Iteration)
+    public void load() {
+        Random random = new Random(42L);
+
+        // The four built-in categories, plus generated ones up to "categories"
+        RuleBook rules = RuleBook.standard();
+        String[] names = new String[categories];
+        names[0] = "+5 Dexterity Vest";
+        names[1] = "Aged Brie";
+        names[2] = "Backstage passes to a TAFKAL80ETC concert";
+        names[3] = "Conjured Mana Cake";
+        for (int c = 4; c < categories; c++) {
+            names[c] = "Custom item " + c;
+            rules.forName(names[c], ItemRule.builder()
+                .qualityChange(random.nextInt(5) - 2)
+                .bonusWithin(random.nextInt(15), 1)
+                .expiredQualityChange(random.nextInt(5) - 2)
+                .build());
+        }
+
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = new Item(names[random.nextInt(categories)], random.nextInt(30) - 5, random.nextInt(51));
+        }
+        app = new RuleBasedGildedRose(items, rules);
+    }
+
+    @Benchmark
+    public void tick() {
+        app.updateQuality();
+    }
+}
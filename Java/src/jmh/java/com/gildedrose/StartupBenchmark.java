@@ -0,0 +1,132 @@
+package com.gildedrose;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares startup of short TickJob runs launched with plain "java"
+ * and with the AppCDS archive recorded from TickJob's warm-up profile.
+
+ * Each launch is a new JVM. For every launch it measures:
+ * - time to first tick: until TickJob prints its "#first-tick" marker
+ * - total: until the process exits (all days run and printed)
+
+ * Usage: StartupBenchmark [jar] [launches] [items] [days]
+ * The jar must hold the com.gildedrose classes (mvn package / gradle jar):
+ * AppCDS only archives application classes loaded from jars. The archive
+ * is recorded next to the jar first if it is missing or older than the
+ * jar (JDK 13+), and "cds" launches use -Xshare:on, so a mismatched
+ * archive fails the run instead of quietly measuring a plain launch.
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Paths.get(args.length > 0 ? args[0] : "target/gilded-rose-kata-0.0.1-SNAPSHOT.jar");
+        int launches = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int days = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        if (!Files.exists(jar)) {
+            System.out.println("Jar not found: " + jar + " (run mvn package or gradle jar first)");
+            return;
+        }
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        Path inventory = Files.createTempFile("inventory", ".txt");
+        List<String> lines = new ArrayList<>();
+        for (Item item : InventoryGenerator.randomItems(42L, size)) {
+            lines.add(item.toString());
+        }
+        Files.write(inventory, lines, StandardCharsets.UTF_8);
+
+        System.out.println("items: " + size + ", days: " + days + ", launches: " + launches);
+        System.out.println("mode, first tick p50 ms, first tick p90 ms, total p50 ms, total p90 ms");
+        List<String> plain = Arrays.asList(java, "-cp", jar.toString());
+        measure("plain", plain, inventory, launches, days);
+
+        if (featureVersion() < 13) {
+            System.out.println("cds: skipped, -XX:ArchiveClassesAtExit needs JDK 13+");
+        } else {
+            Path archive = jar.resolveSibling("gildedrose.jsa");
+            // An archive recorded from an older jar would be silently ignored
+            if (!Files.exists(archive)
+                    || Files.getLastModifiedTime(archive).compareTo(Files.getLastModifiedTime(jar)) < 0) {
+                run(Arrays.asList(java, "-XX:ArchiveClassesAtExit=" + archive, "-cp", jar.toString(),
+                    "com.gildedrose.TickJob", "--warmup"));
+            }
+            // -Xshare:on fails the launch if the archive cannot be used, instead of running without it
+            List<String> cds = Arrays.asList(java, "-XX:SharedArchiveFile=" + archive, "-Xshare:on",
+                "-cp", jar.toString());
+            measure("cds", cds, inventory, launches, days);
+        }
+        Files.delete(inventory);
+    }
+
+    private static void measure(String mode, List<String> launcher, Path inventory, int launches, int days)
+            throws Exception {
+        List<String> command = new ArrayList<>(launcher);
+        command.add("-Dgildedrose.markFirstTick=true");
+        command.add("com.gildedrose.TickJob");
+        command.add(Integer.toString(days));
+        command.add(inventory.toString());
+
+        // Two untimed launches warm the OS file cache
+        long[] firstTick = new long[launches];
+        long[] total = new long[launches];
+        for (int i = -2; i < launches; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            long marker = -1;
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (marker < 0 && line.equals(TickJob.FIRST_TICK_MARKER)) {
+                        marker = System.nanoTime() - start;
+                    }
+                }
+            }
+            int exit = process.waitFor();
+            long elapsed = System.nanoTime() - start;
+            if (exit != 0 || marker < 0) {
+                throw new IllegalStateException(mode + " launch failed with exit code " + exit);
+            }
+            if (i >= 0) {
+                firstTick[i] = marker;
+                total[i] = elapsed;
+            }
+        }
+        Arrays.sort(firstTick);
+        Arrays.sort(total);
+        System.out.printf("%s, %.1f, %.1f, %.1f, %.1f%n", mode,
+            percentile(firstTick, 0.5) / 1e6, percentile(firstTick, 0.9) / 1e6,
+            percentile(total, 0.5) / 1e6, percentile(total, 0.9) / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static void run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Command failed: " + command);
+        }
+    }
+
+    /*
+     * 8 for "1.8", 17 for "17", and so on.
+     */
+    private static int featureVersion() {
+        String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+}
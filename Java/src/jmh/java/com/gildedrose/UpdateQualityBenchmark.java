@@ -0,0 +1,80 @@
+package com.gildedrose;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one daily tick of every EngineVariant.
+
+ * Parameters:
+ * - size: number of items in the inventory
+ * - mix: share of each item category (see InventoryGenerator.Mix)
+ * - engine: which update engine runs the tick
+ *   (JMH generates code in another package, so enum parameters
+ *   are passed by name: the test helpers are package-private)
+
+ * Reading the results:
+ * - Throughput mode: "items" is the secondary result in items/sec
+ * - SampleTime mode: p0.99 is the 99th percentile time per tick
+ * - Run with "-prof gc" to get the allocation rate per tick
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class UpdateQualityBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    int size;
+
+    // InventoryGenerator.Mix constant
+    @Param({"ALL_NORMAL", "BRIE_HEAVY", "BACKSTAGE_HEAVY", "CONJURED_HEAVY", "REALISTIC"})
+    String mix;
+
+    // EngineVariant constant; add new engines here as well
+    @Param({"GILDED_ROSE", "PARALLEL", "COLUMNAR", "RULE_BASED", "INCREMENTAL", "COMPACT", "VECTOR", "TABLE", "INVENTORY", "CATEGORY_BATCHED"})
+    String engine;
+
+    private EngineVariant.Engine loaded;
+
+    /**
+     * Reloaded every iteration: after enough ticks every item sits at
+     * its limits, which is not what a nightly run sees.
+     */
+    @Setup(Level.Iteration)
+    public void load() {
+        Item[] items = InventoryGenerator.randomItems(42L, size, InventoryGenerator.Mix.valueOf(mix));
+        loaded = EngineVariant.valueOf(engine).load(items);
+    }
+
+    /**
+     * Counts items processed so JMH reports items/sec next to ticks/sec.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ItemCounter {
+
+        public long items;
+    }
+
+    @Benchmark
+    public void tick(ItemCounter counter) {
+        loaded.tick();
+        counter.items += size;
+    }
+}
@@ -0,0 +1,291 @@
+package com.gildedrose;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BinaryInventoryFormat is a compact fixed-width file format for items.
+
+ * LAYOUT (all values big-endian):
+ *   header      magic, version, record count, dictionary offset
+ *   records     one RECORD_SIZE entry per item: name id, sellIn, quality
+ *   dictionary  name count, then each name as length + UTF-8 bytes
+
+ * Every record has the same size, so record i is at a known offset and
+ * MappedInventory can update sellIn / quality in place. Names are stored
+ * once in the dictionary, which is written last so files can be produced
+ * in a single streaming pass.
+ */
+final class BinaryInventoryFormat {
+
+    static final int MAGIC = 0x47524F53; // "GROS"
+    static final int VERSION = 1;
+
+    // magic (4) + version (4) + record count (8) + dictionary offset (8)
+    static final int HEADER_SIZE = 24;
+
+    // name id (4) + sellIn (4) + quality (4)
+    static final int RECORD_SIZE = 12;
+
+    // Offsets of the fields inside a record
+    static final int NAME_ID_OFFSET = 0;
+    static final int SELL_IN_OFFSET = 4;
+    static final int QUALITY_OFFSET = 8;
+
+    private BinaryInventoryFormat() {
+    }
+
+    /**
+     * Writes an Item[] to a binary file.
+     */
+    static void write(Item[] items, Path file) throws IOException {
+        try (Writer writer = new Writer(file)) {
+            for (Item item : items) {
+                writer.append(item);
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Reads a whole binary file back into an Item[].
+     */
+    static Item[] readItems(Path file) throws IOException {
+        try (MappedInventory inventory = MappedInventory.open(file)) {
+            long size = inventory.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Too many items for an Item[]: " + size);
+            }
+            Item[] items = new Item[(int) size];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = new Item(inventory.name(i), inventory.sellIn(i), inventory.quality(i));
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Converts a "name, sellIn, quality" text file into a binary file,
+     * streaming line by line.
+     */
+    static long fromText(Path text, Path binary) throws IOException {
+        long count = 0;
+        Item item = new Item(null, 0, 0);
+        try (BufferedReader reader = Files.newBufferedReader(text, StandardCharsets.UTF_8);
+             Writer writer = new Writer(binary)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                ItemLineFormat.parseInto(line, item);
+                writer.append(item);
+                count++;
+            }
+            writer.finish();
+        }
+        return count;
+    }
+
+    /**
+     * Converts a binary file back into "name, sellIn, quality" lines.
+     */
+    static long toText(Path binary, Path text) throws IOException {
+        try (MappedInventory inventory = MappedInventory.open(binary);
+             BufferedWriter writer = Files.newBufferedWriter(text, StandardCharsets.UTF_8)) {
+            long size = inventory.size();
+            for (long i = 0; i < size; i++) {
+                writer.write(inventory.name(i));
+                writer.write(ItemLineFormat.SEPARATOR);
+                writer.write(Integer.toString(inventory.sellIn(i)));
+                writer.write(ItemLineFormat.SEPARATOR);
+                writer.write(Integer.toString(inventory.quality(i)));
+                writer.newLine();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Reads and checks the header, returning {record count, dictionary offset}.
+     */
+    static long[] readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a binary inventory file");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary inventory version: " + version);
+        }
+        long recordCount = header.getLong();
+        long dictionaryOffset = header.getLong();
+        if (dictionaryOffset != HEADER_SIZE + recordCount * RECORD_SIZE) {
+            throw new IOException("Corrupt binary inventory header");
+        }
+        return new long[] { recordCount, dictionaryOffset };
+    }
+
+    /**
+     * Reads the name dictionary that starts at the given offset.
+     */
+    static String[] readDictionary(FileChannel channel, long offset) throws IOException {
+        long length = channel.size() - offset;
+        if (length < 4 || length > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt binary inventory dictionary");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        readFully(channel, buffer, offset);
+        buffer.flip();
+
+        String[] names = new String[buffer.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of binary inventory file");
+            }
+        }
+    }
+
+    /**
+     * Streaming writer: records are appended as they arrive and the
+     * dictionary plus final header are written by finish(). Call it as
+     * the last statement of the try block; a writer closed without it
+     * (an exception left the block early) keeps a zeroed header.
+     */
+    static final class Writer implements Closeable {
+
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final Map<String, Integer> nameIds = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private long recordCount;
+
+        // Set once a write to the channel fails; the file is then never finished
+        private boolean failed;
+
+        // Set once the dictionary and header are written
+        private boolean finished;
+
+        Writer(Path file) throws IOException {
+            channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            // Header is written by finish(), once the counts are known
+            channel.position(HEADER_SIZE);
+        }
+
+        void append(Item item) throws IOException {
+            checkWritable();
+            Integer id = nameIds.get(item.name);
+            if (id == null) {
+                id = names.size();
+                nameIds.put(item.name, id);
+                names.add(item.name);
+            }
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush();
+            }
+            buffer.putInt(id).putInt(item.sellIn).putInt(item.quality);
+            recordCount++;
+        }
+
+        /**
+         * Writes the dictionary and the header, completing the file.
+         * Nothing can be appended afterwards.
+         */
+        void finish() throws IOException {
+            checkWritable();
+            writeDictionary();
+            writeHeader();
+            finished = true;
+        }
+
+        /**
+         * Closes the file. If finish() did not complete (a write failed,
+         * or the caller gave up part way) the header is left zeroed, so
+         * the short file is rejected by readHeader() instead of looking
+         * complete.
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void checkWritable() throws IOException {
+            if (failed) {
+                throw new IOException("An earlier write to this binary inventory failed");
+            }
+            if (finished) {
+                throw new IOException("Binary inventory already finished");
+            }
+        }
+
+        private void writeDictionary() throws IOException {
+            flush();
+            buffer.putInt(names.size());
+            for (String name : names) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < 4 + bytes.length) {
+                    flush();
+                }
+                if (buffer.remaining() < 4 + bytes.length) {
+                    // Name longer than the buffer: write it directly
+                    buffer.putInt(bytes.length);
+                    flush();
+                    channel.write(ByteBuffer.wrap(bytes));
+                    continue;
+                }
+                buffer.putInt(bytes.length).put(bytes);
+            }
+            flush();
+        }
+
+        private void writeHeader() throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(recordCount)
+                .putLong(HEADER_SIZE + recordCount * RECORD_SIZE)
+                .flip();
+            channel.write(header, 0);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.gildedrose;
+
+/**
+ * CategoryBatchedGildedRose runs the daily update one category at a
+ * time instead of in array order.
+
+ * WHY:
+ * - GildedRose.updateQuality() picks the rules of each item through
+ *   the branch chain in updateItemQuality / handleExpiredItem. In a
+ *   shuffled inventory the category changes from item to item, so
+ *   those branches are close to random and often mispredicted.
+ * - Here the indexes of each category's items are kept in a bucket
+ *   (in ascending order), and each bucket runs a loop written for that
+ *   category only. The remaining branches (expired, at a limit) mostly
+ *   go the same way for long runs of items.
+
+ * The items array itself is never reordered: callers see the same
+ * array, in the same order, as with GildedRose. Results are identical
+ * to GildedRose.updateQuality() as long as no Item object appears
+ * twice in items.
+
+ * The buckets are built once and kept across ticks. They are rebuilt
+ * when items is replaced by another array, and after a tick in which
+ * an item's name was found changed to one of another category (that
+ * item is updated with the standard rules for its new name).
+ */
+class CategoryBatchedGildedRose {
+
+    // Collection of items managed by the system
+    Item[] items;
+
+    // The array the buckets were built for
+    private Item[] indexedItems;
+
+    // Name each item was classified with
+    private String[] classifiedNames = new String[0];
+
+    // Item indexes per ItemCategory ordinal, ascending; bucketSizes[c] are in use
+    private final int[][] buckets = new int[ItemCategory.values().length][];
+    private final int[] bucketSizes = new int[ItemCategory.values().length];
+
+    // Set when an item moved to another category during a tick
+    private boolean stale;
+
+    // Provides the standard per-item rules for renamed items
+    private final GildedRose rules = new GildedRose(new Item[0]);
+
+    public CategoryBatchedGildedRose(Item[] items) {
+        this.items = items;
+        reindex();
+    }
+
+    /**
+     * Main update method executed once per day, one bucket at a time.
+     */
+    public void updateQuality() {
+        if (items != indexedItems) {
+            reindex();
+        }
+        updateNormal(ItemCategory.NORMAL);
+        updateConjured(ItemCategory.CONJURED);
+        updateAgedBrie(ItemCategory.AGED_BRIE);
+        updateBackstagePasses(ItemCategory.BACKSTAGE_PASS);
+        checkSulfuras(ItemCategory.SULFURAS);
+        if (stale) {
+            reindex();
+        }
+    }
+
+    /**
+     * Classifies every item again and rebuilds the buckets.
+     */
+    void reindex() {
+        int length = items.length;
+        ItemCategory[] categories = ItemCategory.values();
+        int[] counts = new int[categories.length];
+        if (classifiedNames.length != length) {
+            classifiedNames = new String[length];
+        }
+        byte[] ordinals = new byte[length];
+        for (int i = 0; i < length; i++) {
+            String name = items[i].name;
+            int c = ItemCategory.resolve(name).ordinal();
+            classifiedNames[i] = name;
+            ordinals[i] = (byte) c;
+            counts[c]++;
+        }
+        for (int c = 0; c < categories.length; c++) {
+            if (buckets[c] == null || buckets[c].length < counts[c]) {
+                buckets[c] = new int[counts[c]];
+            }
+            bucketSizes[c] = 0;
+        }
+        for (int i = 0; i < length; i++) {
+            int c = ordinals[i];
+            buckets[c][bucketSizes[c]++] = i;
+        }
+        indexedItems = items;
+        stale = false;
+    }
+
+    /**
+     * Number of items in a category's bucket.
+     */
+    int bucketSize(ItemCategory category) {
+        return bucketSizes[category.ordinal()];
+    }
+
+    /*
+     * -1 per day, -1 more once expired.
+     */
+    private void updateNormal(ItemCategory category) {
+        int[] bucket = buckets[category.ordinal()];
+        int size = bucketSizes[category.ordinal()];
+        for (int b = 0; b < size; b++) {
+            int i = bucket[b];
+            Item item = items[i];
+            if (item.name != classifiedNames[i]) {
+                updateRenamed(i, category);
+                continue;
+            }
+            int q = ColumnarInventory.decrease(item.quality, 1);
+            int s = item.sellIn - 1;
+            if (s < 0) {
+                q = ColumnarInventory.decrease(q, 1);
+            }
+            item.sellIn = s;
+            item.quality = q;
+        }
+    }
+
+    /*
+     * -2 per day, -2 more once expired.
+     */
+    private void updateConjured(ItemCategory category) {
+        int[] bucket = buckets[category.ordinal()];
+        int size = bucketSizes[category.ordinal()];
+        for (int b = 0; b < size; b++) {
+            int i = bucket[b];
+            Item item = items[i];
+            if (item.name != classifiedNames[i]) {
+                updateRenamed(i, category);
+                continue;
+            }
+            int q = ColumnarInventory.decrease(item.quality, 2);
+            int s = item.sellIn - 1;
+            if (s < 0) {
+                q = ColumnarInventory.decrease(q, 2);
+            }
+            item.sellIn = s;
+            item.quality = q;
+        }
+    }
+
+    /*
+     * +1 per day, +1 more once expired.
+     */
+    private void updateAgedBrie(ItemCategory category) {
+        int[] bucket = buckets[category.ordinal()];
+        int size = bucketSizes[category.ordinal()];
+        for (int b = 0; b < size; b++) {
+            int i = bucket[b];
+            Item item = items[i];
+            if (item.name != classifiedNames[i]) {
+                updateRenamed(i, category);
+                continue;
+            }
+            int q = ColumnarInventory.increase(item.quality, 1);
+            int s = item.sellIn - 1;
+            if (s < 0) {
+                q = ColumnarInventory.increase(q, 1);
+            }
+            item.sellIn = s;
+            item.quality = q;
+        }
+    }
+
+    /*
+     * +1, +2 within 10 days, +3 within 5 days; 0 after the concert.
+     */
+    private void updateBackstagePasses(ItemCategory category) {
+        int[] bucket = buckets[category.ordinal()];
+        int size = bucketSizes[category.ordinal()];
+        for (int b = 0; b < size; b++) {
+            int i = bucket[b];
+            Item item = items[i];
+            if (item.name != classifiedNames[i]) {
+                updateRenamed(i, category);
+                continue;
+            }
+            int s = item.sellIn;
+            int steps = 1 + (s <= 10 ? 1 : 0) + (s <= 5 ? 1 : 0);
+            int q = ColumnarInventory.increase(item.quality, steps);
+            s--;
+            item.sellIn = s;
+            item.quality = s < 0 ? 0 : q;
+        }
+    }
+
+    /*
+     * Sulfuras never changes; only renamed items need work.
+     */
+    private void checkSulfuras(ItemCategory category) {
+        int[] bucket = buckets[category.ordinal()];
+        int size = bucketSizes[category.ordinal()];
+        for (int b = 0; b < size; b++) {
+            int i = bucket[b];
+            if (items[i].name != classifiedNames[i]) {
+                updateRenamed(i, category);
+            }
+        }
+    }
+
+    /*
+     * The name of items[i] changed since it was classified: update it
+     * with the standard rules for its new name, and rebuild the
+     * buckets after this tick if that moved it to another category.
+     */
+    private void updateRenamed(int i, ItemCategory bucketCategory) {
+        Item item = items[i];
+        ItemCategory category = ItemCategory.resolve(item.name);
+        rules.updateItem(item, category);
+        if (category == bucketCategory) {
+            classifiedNames[i] = item.name;
+        } else {
+            stale = true;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.gildedrose;
+
+/**
+ * ChangeLog records what updateQuality() changed, item by item.
+
+ * Each entry holds the tick, the item's index in the items array, its
+ * old and new sellIn / quality, and flags saying which rules fired.
+ * Entries are written into preallocated arrays, so logging allocates
+ * nothing on the hot loop. When the buffer is full, and at the end of
+ * every tick, the buffered entries are handed to the sink as one batch
+ * and the buffer is reused. A batch never spans two ticks.
+
+ * The log numbers ticks itself, starting after lastTick (0 for a new
+ * inventory), so an inventory restored from a checkpoint keeps
+ * counting where it left off.
+
+ * Items that did not change (Sulfuras) produce no entry.
+ */
+final class ChangeLog {
+
+    /* Rule flags */
+
+    // The item is past its sell-by date after this tick
+    static final int EXPIRED = 1;
+
+    // A backstage pass dropped to zero after the concert
+    static final int DROPPED_TO_ZERO = 1 << 1;
+
+    // Quality would have gone past 0 or 50 and was held at the limit
+    static final int CLAMPED = 1 << 2;
+
+    static final int DEFAULT_CAPACITY = 4_096;
+
+    private final ChangeSink sink;
+
+    // Tick being recorded; 0 before the first tick
+    private long currentTick;
+
+    private final long[] tick;
+    private final int[] item;
+    private final int[] oldSellIn;
+    private final int[] oldQuality;
+    private final int[] newSellIn;
+    private final int[] newQuality;
+    private final byte[] flags;
+    private int size;
+
+    ChangeLog(ChangeSink sink) {
+        this(sink, DEFAULT_CAPACITY);
+    }
+
+    ChangeLog(ChangeSink sink, int capacity) {
+        this(sink, capacity, 0);
+    }
+
+    ChangeLog(ChangeSink sink, int capacity, long lastTick) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.sink = sink;
+        this.currentTick = lastTick;
+        this.tick = new long[capacity];
+        this.item = new int[capacity];
+        this.oldSellIn = new int[capacity];
+        this.oldQuality = new int[capacity];
+        this.newSellIn = new int[capacity];
+        this.newQuality = new int[capacity];
+        this.flags = new byte[capacity];
+    }
+
+    /**
+     * Starts the next tick and returns its number.
+     */
+    long beginTick() {
+        return ++currentTick;
+    }
+
+    /**
+     * Hands the rest of the tick's entries to the sink and tells it
+     * the tick is complete.
+     */
+    void endTick() {
+        flush();
+        sink.tickCompleted(currentTick);
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Adds one entry for the current tick, handing the buffer to the
+     * sink first if it is full.
+     */
+    void record(int item, int oldSellIn, int oldQuality, int newSellIn, int newQuality, int flags) {
+        if (size == this.tick.length) {
+            flush();
+        }
+        this.tick[size] = currentTick;
+        this.item[size] = item;
+        this.oldSellIn[size] = oldSellIn;
+        this.oldQuality[size] = oldQuality;
+        this.newSellIn[size] = newSellIn;
+        this.newQuality[size] = newQuality;
+        this.flags[size] = (byte) flags;
+        size++;
+    }
+
+    /**
+     * Hands all buffered entries to the sink.
+     */
+    void flush() {
+        if (size > 0) {
+            sink.accept(this);
+            size = 0;
+        }
+    }
+
+    /* Batch view, used by sinks */
+
+    int size() {
+        return size;
+    }
+
+    long tick(int entry) {
+        return tick[entry];
+    }
+
+    int item(int entry) {
+        return item[entry];
+    }
+
+    int oldSellIn(int entry) {
+        return oldSellIn[entry];
+    }
+
+    int oldQuality(int entry) {
+        return oldQuality[entry];
+    }
+
+    int newSellIn(int entry) {
+        return newSellIn[entry];
+    }
+
+    int newQuality(int entry) {
+        return newQuality[entry];
+    }
+
+    int flags(int entry) {
+        return flags[entry];
+    }
+}
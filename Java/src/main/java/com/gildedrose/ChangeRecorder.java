@@ -0,0 +1,82 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+
+/**
+ * ChangeRecorder is a ChangeSink that keeps every change in memory,
+ * in compact int columns, and can replay them onto a snapshot.
+
+ * Replaying only writes the recorded new values: no rules are
+ * evaluated and unchanged items are never visited, which makes it
+ * much cheaper than running the same ticks again.
+ */
+final class ChangeRecorder implements ChangeSink {
+
+    private long[] tick = new long[1_024];
+    private int[] item = new int[1_024];
+    private int[] newSellIn = new int[1_024];
+    private int[] newQuality = new int[1_024];
+    private byte[] flags = new byte[1_024];
+    private int size;
+
+    @Override
+    public void accept(ChangeLog batch) {
+        ensureCapacity(size + batch.size());
+        for (int e = 0; e < batch.size(); e++) {
+            tick[size] = batch.tick(e);
+            item[size] = batch.item(e);
+            newSellIn[size] = batch.newSellIn(e);
+            newQuality[size] = batch.newQuality(e);
+            flags[size] = (byte) batch.flags(e);
+            size++;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int item(int entry) {
+        return item[entry];
+    }
+
+    long tick(int entry) {
+        return tick[entry];
+    }
+
+    int flags(int entry) {
+        return flags[entry];
+    }
+
+    /**
+     * Applies every recorded change, in order, to items taken at the
+     * point where recording started. Afterwards items hold the state
+     * of the last recorded tick.
+     */
+    void replayOnto(Item[] items) {
+        replayOnto(items, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as replayOnto(items), stopping after the given tick.
+     */
+    void replayOnto(Item[] items, long lastTick) {
+        for (int e = 0; e < size && tick[e] <= lastTick; e++) {
+            Item target = items[item[e]];
+            target.sellIn = newSellIn[e];
+            target.quality = newQuality[e];
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= item.length) {
+            return;
+        }
+        int grown = Math.max(capacity, item.length * 2);
+        tick = Arrays.copyOf(tick, grown);
+        item = Arrays.copyOf(item, grown);
+        newSellIn = Arrays.copyOf(newSellIn, grown);
+        newQuality = Arrays.copyOf(newQuality, grown);
+        flags = Arrays.copyOf(flags, grown);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gildedrose;
+
+/**
+ * Receives batches of item changes from a ChangeLog.
+
+ * The batch is only valid during the call: its storage is reused
+ * for the next batch, so sinks must copy anything they keep.
+ */
+interface ChangeSink {
+
+    void accept(ChangeLog batch);
+
+    /**
+     * Called once all of a tick's entries have been accepted,
+     * including ticks that changed nothing.
+     */
+    default void tickCompleted(long tick) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.gildedrose;
+
+/**
+ * ColumnarInventory stores items as parallel primitive arrays
+ * ("struct of arrays") instead of an array of Item objects.
+
+ * WHY:
+ * - GildedRose walks an Item[] of separate heap objects and
+ *   compares String names for every item on every tick.
+ * - Here the category is resolved once and kept in a byte[],
+ *   and sellIn / quality live in int[] columns, so a daily
+ *   update is a tight, allocation-free loop over primitives.
+
+ * The rules applied are exactly the ones in GildedRose
+ * (updateItemQuality, updateSellIn, handleExpiredItem).
+ */
+final class ColumnarInventory {
+
+    // Item names, kept only so the inventory can be turned back into Items
+    final String[] names;
+
+    // Number of days remaining to sell each item
+    final int[] sellIn;
+
+    // Quality value of each item
+    final int[] quality;
+
+    // ItemCategory id of each item, resolved once from the name
+    final byte[] category;
+
+    // Lane masks for updateQualityVectorized, built on first use
+    private VectorKernel kernel;
+
+    private ColumnarInventory(int size) {
+        this(new String[size], new int[size], new int[size], new byte[size], null);
+    }
+
+    private ColumnarInventory(String[] names, int[] sellIn, int[] quality, byte[] category, VectorKernel kernel) {
+        this.names = names;
+        this.sellIn = sellIn;
+        this.quality = quality;
+        this.category = category;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Builds a columnar copy of the given items.
+     * The Items themselves are not referenced afterwards.
+     */
+    static ColumnarInventory fromItems(Item[] items) {
+        ColumnarInventory inventory = new ColumnarInventory(items.length);
+        for (int i = 0; i < items.length; i++) {
+            Item item = items[i];
+            inventory.names[i] = item.name;
+            inventory.sellIn[i] = item.sellIn;
+            inventory.quality[i] = item.quality;
+            inventory.category[i] = ItemCategory.resolve(item.name).id();
+        }
+        return inventory;
+    }
+
+    /**
+     * Creates new Item objects holding the current state.
+     */
+    Item[] toItems() {
+        Item[] items = new Item[size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(names[i], sellIn[i], quality[i]);
+        }
+        return items;
+    }
+
+    /**
+     * Copies the current state back into existing Items
+     * (same length and order as the array this was built from).
+     */
+    void copyTo(Item[] items) {
+        if (items.length != size()) {
+            throw new IllegalArgumentException(
+                "Expected " + size() + " items but got " + items.length);
+        }
+        for (int i = 0; i < items.length; i++) {
+            items[i].sellIn = sellIn[i];
+            items[i].quality = quality[i];
+        }
+    }
+
+    /**
+     * Copy whose sellIn / quality can be updated independently.
+     * Names and categories never change, so they are shared
+     * (and so is the VectorKernel built from the categories).
+     */
+    ColumnarInventory copy() {
+        return new ColumnarInventory(names, sellIn.clone(), quality.clone(), category, kernel);
+    }
+
+    int size() {
+        return sellIn.length;
+    }
+
+    /**
+     * Daily update, same ORDER OF OPERATIONS as GildedRose:
+     * 1. Update quality based on category (before expiration)
+     * 2. Decrease sellIn (except Sulfuras)
+     * 3. Apply additional rules if item has expired
+     */
+    void updateQuality() {
+        final byte sulfuras = ItemCategory.SULFURAS.id();
+        for (int i = 0; i < sellIn.length; i++) {
+            byte c = category[i];
+            if (c == sulfuras) {
+                // Legendary: never changes
+                continue;
+            }
+            int s = sellIn[i];
+            int q = beforeExpiry(c, s, quality[i]);
+            s--;
+            if (s < 0) {
+                q = afterExpiry(c, q);
+            }
+            sellIn[i] = s;
+            quality[i] = q;
+        }
+    }
+
+    /**
+     * Same as updateQuality(), using the branch-free VectorKernel
+     * when the JVM can vectorize it and the scalar loop otherwise.
+     */
+    void updateQualityVectorized() {
+        if (!VectorKernel.isSupported()) {
+            updateQuality();
+            return;
+        }
+        if (kernel == null) {
+            kernel = VectorKernel.forCategories(category);
+        }
+        kernel.apply(sellIn, quality);
+    }
+
+    /**
+     * Same rules as GildedRose.updateItemQuality.
+     */
+    static int beforeExpiry(byte c, int s, int q) {
+        switch (ItemCategory.byId(c)) {
+            case AGED_BRIE:
+                return increase(q, 1);
+            case BACKSTAGE_PASS:
+                // +1, +2 within 10 days, +3 within 5 days
+                int steps = 1;
+                if (s <= 10) {
+                    steps++;
+                }
+                if (s <= 5) {
+                    steps++;
+                }
+                return increase(q, steps);
+            case CONJURED:
+                return decrease(q, 2);
+            default:
+                return decrease(q, 1);
+        }
+    }
+
+    /**
+     * Same rules as GildedRose.handleExpiredItem (sellIn already < 0).
+     */
+    static int afterExpiry(byte c, int q) {
+        switch (ItemCategory.byId(c)) {
+            case AGED_BRIE:
+                return increase(q, 1);
+            case BACKSTAGE_PASS:
+                // After concert, quality drops to zero
+                return 0;
+            case CONJURED:
+                return decrease(q, 2);
+            default:
+                return decrease(q, 1);
+        }
+    }
+
+    /**
+     * Equivalent to calling GildedRose.increaseQuality "steps" times:
+     * quality never goes past 50, and values already above 50 are kept.
+     */
+    static int increase(int q, int steps) {
+        return q < 50 ? Math.min(50, q + steps) : q;
+    }
+
+    /**
+     * Equivalent to calling GildedRose.decreaseQuality "steps" times:
+     * quality never drops below 0, and values already below 0 are kept.
+     */
+    static int decrease(int q, int steps) {
+        return q > 0 ? Math.max(0, q - steps) : q;
+    }
+}
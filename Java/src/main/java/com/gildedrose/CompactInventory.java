@@ -0,0 +1,130 @@
+package com.gildedrose;
+
+import java.util.function.Consumer;
+
+/**
+ * CompactInventory keeps items in the smallest practical form:
+ * - each distinct name is stored once, in a NameTable
+ * - each item is an int name id plus one long holding sellIn
+ *   (high 32 bits) and quality (low 32 bits)
+
+ * That is 12 bytes per item, instead of an Item object (header,
+ * String reference and two ints) plus, in many feeds, its own copy
+ * of a name like "Backstage passes to a TAFKAL80ETC concert".
+
+ * Existing code that works with Item objects can use item(i) / set(i)
+ * or withItem(i, action), which loads the item into a reusable Item,
+ * runs the action and stores any changes back.
+ */
+final class CompactInventory {
+
+    private final NameTable names = new NameTable();
+    private final int[] nameIds;
+    private final long[] state;
+
+    // Reused by withItem; not thread safe
+    private final Item scratch = new Item(null, 0, 0);
+
+    private CompactInventory(int size) {
+        this.nameIds = new int[size];
+        this.state = new long[size];
+    }
+
+    static CompactInventory fromItems(Item[] items) {
+        CompactInventory inventory = new CompactInventory(items.length);
+        for (int i = 0; i < items.length; i++) {
+            inventory.set(i, items[i]);
+        }
+        return inventory;
+    }
+
+    Item[] toItems() {
+        Item[] items = new Item[size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = item(i);
+        }
+        return items;
+    }
+
+    int size() {
+        return state.length;
+    }
+
+    int distinctNames() {
+        return names.size();
+    }
+
+    String name(int index) {
+        return names.name(nameIds[index]);
+    }
+
+    int sellIn(int index) {
+        return sellIn(state[index]);
+    }
+
+    int quality(int index) {
+        return quality(state[index]);
+    }
+
+    /**
+     * A new Item holding the state of item i.
+     */
+    Item item(int index) {
+        long packed = state[index];
+        return new Item(names.name(nameIds[index]), sellIn(packed), quality(packed));
+    }
+
+    /**
+     * Stores an Item's name, sellIn and quality at position i.
+     */
+    void set(int index, Item item) {
+        nameIds[index] = names.idOf(item.name);
+        state[index] = pack(item.sellIn, item.quality);
+    }
+
+    /**
+     * Lets Item based code read and change item i in place.
+     * The Item passed to the action is reused; do not keep it.
+     */
+    void withItem(int index, Consumer<Item> action) {
+        long packed = state[index];
+        scratch.name = names.name(nameIds[index]);
+        scratch.sellIn = sellIn(packed);
+        scratch.quality = quality(packed);
+        action.accept(scratch);
+        set(index, scratch);
+    }
+
+    /**
+     * Daily update, same rules and order as GildedRose.updateQuality().
+     */
+    void updateQuality() {
+        final byte sulfuras = ItemCategory.SULFURAS.id();
+        for (int i = 0; i < state.length; i++) {
+            byte c = names.category(nameIds[i]);
+            if (c == sulfuras) {
+                continue;
+            }
+            long packed = state[i];
+            int s = sellIn(packed);
+            int q = ColumnarInventory.beforeExpiry(c, s, quality(packed));
+            s--;
+            if (s < 0) {
+                q = ColumnarInventory.afterExpiry(c, q);
+            }
+            state[i] = pack(s, q);
+        }
+    }
+
+    static long pack(int sellIn, int quality) {
+        return ((long) sellIn << 32) | (quality & 0xFFFFFFFFL);
+    }
+
+    static int sellIn(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    static int quality(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gildedrose;
+
+/**
+ * ConcurrentInventory lets readers look at the inventory while the
+ * daily update is running, without ever seeing a half-updated state.
+
+ * HOW (copy-on-write generations):
+ * - The current state is an immutable InventorySnapshot.
+ * - updateQuality() computes the next generation in a private copy
+ *   and then publishes it with a single volatile write.
+ * - snapshot() is a single volatile read: readers never block and
+ *   never wait for the updater. They see the pre-tick state until the
+ *   new generation is published, then the post-tick state.
+
+ * A reader that needs several values to agree (e.g. sellIn and quality
+ * of many items) should call snapshot() once and read from it.
+ */
+final class ConcurrentInventory {
+
+    private volatile InventorySnapshot current;
+
+    // Serializes updaters; readers never take it
+    private final Object updateLock = new Object();
+
+    ConcurrentInventory(Item[] items) {
+        this.current = new InventorySnapshot(ColumnarInventory.fromItems(items), 0);
+    }
+
+    /**
+     * The latest published generation.
+     */
+    InventorySnapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Applies one day to a copy of the current generation and publishes it.
+     */
+    void updateQuality() {
+        synchronized (updateLock) {
+            current = current.next();
+        }
+    }
+}
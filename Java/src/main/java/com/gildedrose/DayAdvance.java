@@ -0,0 +1,117 @@
+package com.gildedrose;
+
+/**
+ * DayAdvance computes the state of an item after N days directly,
+ * without running N daily updates.
+
+ * Every rule in GildedRose either moves quality one step at a time
+ * towards a limit (0 or 50) or resets it, so the result after N days
+ * only depends on how many steps happen in total. Counting the steps
+ * gives an O(1) answer per item, whatever the number of days.
+
+ * The results are identical to calling updateQuality() N times
+ * (see DayAdvanceTest).
+ */
+final class DayAdvance {
+
+    private DayAdvance() {
+    }
+
+    /**
+     * sellIn after the given number of days.
+     * Sulfuras never changes; everything else loses one per day.
+     */
+    static int sellInAfter(ItemCategory category, int sellIn, int days) {
+        if (category == ItemCategory.SULFURAS) {
+            return sellIn;
+        }
+        return sellIn - days;
+    }
+
+    /**
+     * quality after the given number of days.
+     */
+    static int qualityAfter(ItemCategory category, int sellIn, int quality, int days) {
+        if (days <= 0) {
+            return quality;
+        }
+        switch (category) {
+            case SULFURAS:
+                return quality;
+            case AGED_BRIE:
+                // +1 per day, +1 more for every day that ends expired
+                return increase(quality, days + expiredDays(sellIn, days));
+            case BACKSTAGE_PASS:
+                return backstagePassQualityAfter(sellIn, quality, days);
+            case CONJURED:
+                // Twice the normal degradation
+                return decrease(quality, 2 * (days + expiredDays(sellIn, days)));
+            default:
+                // -1 per day, -1 more for every day that ends expired
+                return decrease(quality, days + expiredDays(sellIn, days));
+        }
+    }
+
+    /**
+     * Applies days of rules to an item in place.
+     */
+    static void advance(Item item, ItemCategory category, int days) {
+        item.quality = qualityAfter(category, item.sellIn, item.quality, days);
+        item.sellIn = sellInAfter(category, item.sellIn, days);
+    }
+
+    /**
+     * Number of days (out of the next "days") that end with sellIn < 0,
+     * i.e. days on which the expiration rules apply.
+     */
+    static long expiredDays(int sellIn, int days) {
+        long daysBeforeExpiry = Math.min(Math.max(sellIn, 0), days);
+        return days - daysBeforeExpiry;
+    }
+
+    /**
+     * Backstage passes:
+     * - Once the concert has passed (any day ending with sellIn < 0)
+     *   quality is 0, and it is reset to 0 again on every later day.
+     * - Otherwise each day adds 1, plus 1 on days starting with
+     *   sellIn <= 10, plus 1 more on days starting with sellIn <= 5.
+     */
+    private static int backstagePassQualityAfter(int sellIn, int quality, int days) {
+        if ((long) sellIn - days < 0) {
+            return 0;
+        }
+        long steps = days
+            + daysStartingAtOrBelow(10, sellIn, days)
+            + daysStartingAtOrBelow(5, sellIn, days);
+        return increase(quality, steps);
+    }
+
+    /**
+     * Counts the days whose starting sellIn (sellIn, sellIn - 1, ...,
+     * sellIn - days + 1) is at or below the given tier.
+     */
+    private static long daysStartingAtOrBelow(int tier, int sellIn, int days) {
+        long count = (long) Math.min(sellIn, tier) - sellIn + days;
+        return Math.max(0, count);
+    }
+
+    /**
+     * Same as calling GildedRose.increaseQuality "steps" times.
+     */
+    private static int increase(int quality, long steps) {
+        if (quality >= 50) {
+            return quality;
+        }
+        return (int) Math.min(50, quality + steps);
+    }
+
+    /**
+     * Same as calling GildedRose.decreaseQuality "steps" times.
+     */
+    private static int decrease(int quality, long steps) {
+        if (quality <= 0) {
+            return quality;
+        }
+        return (int) Math.max(0, quality - steps);
+    }
+}
@@ -0,0 +1,284 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * DeltaLog is a ChangeSink that appends change log batches to a file,
+ * so the ticks run since the last checkpoint can be replayed on restart.
+
+ * FILE FORMAT (a sequence of frames, big-endian):
+ *   type (4)      ENTRIES or COMMIT
+ *   tick (8)
+ *   count (4)     number of entries (0 for COMMIT)
+ *   entries       count x (item index, new sellIn, new quality)
+ *   crc (4)       CRC32 of everything above
+
+ * A COMMIT frame is written, and the file forced to disk, once a tick
+ * is complete. Replay only applies ticks that have their own valid
+ * COMMIT, so a crash or a failed write part way through a tick, or a
+ * torn last frame, loses at most that tick and never leaves items half
+ * updated.
+ */
+final class DeltaLog implements ChangeSink, Closeable {
+
+    static final int ENTRIES = 1;
+    static final int COMMIT = 2;
+
+    // type (4) + tick (8) + count (4)
+    static final int FRAME_HEADER_SIZE = 16;
+
+    // item index (4) + sellIn (4) + quality (4)
+    static final int ENTRY_SIZE = 12;
+
+    static final int CRC_SIZE = 4;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+
+    private DeltaLog(FileChannel channel, int maxEntriesPerBatch) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(FRAME_HEADER_SIZE + maxEntriesPerBatch * ENTRY_SIZE + CRC_SIZE);
+    }
+
+    /**
+     * Opens a delta log for appending. Anything after the last complete
+     * tick (left behind by a crash) is cut off first, so new frames
+     * always follow a valid one.
+     */
+    static DeltaLog open(Path file) throws IOException {
+        return open(file, ChangeLog.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Same as open(file), for a ChangeLog whose buffer holds
+     * maxEntriesPerBatch entries.
+     */
+    static DeltaLog open(Path file, int maxEntriesPerBatch) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end = committedLength(channel);
+            channel.truncate(end);
+            channel.position(end);
+            return new DeltaLog(channel, maxEntriesPerBatch);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Empties the log, once a checkpoint covers everything in it.
+     */
+    void clear() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    @Override
+    public void accept(ChangeLog batch) {
+        int count = batch.size();
+        if (count * ENTRY_SIZE > buffer.capacity() - FRAME_HEADER_SIZE - CRC_SIZE) {
+            throw new IllegalStateException("Batch of " + count + " entries does not fit the delta log buffer");
+        }
+        buffer.clear();
+        buffer.putInt(ENTRIES);
+        buffer.putLong(batch.tick(0));
+        buffer.putInt(count);
+        for (int e = 0; e < count; e++) {
+            buffer.putInt(batch.item(e));
+            buffer.putInt(batch.newSellIn(e));
+            buffer.putInt(batch.newQuality(e));
+        }
+        writeFrame();
+    }
+
+    @Override
+    public void tickCompleted(long tick) {
+        buffer.clear();
+        buffer.putInt(COMMIT);
+        buffer.putLong(tick);
+        buffer.putInt(0);
+        writeFrame();
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not sync delta log", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Applies every committed tick later than afterTick onto items
+     * and returns the last tick applied (afterTick if none).
+
+     * The entries of a tick are held back until its own COMMIT frame
+     * is read: a tick whose writer failed part way (ENTRIES without a
+     * COMMIT) is dropped even when later ticks were committed.
+     */
+    static long replay(Path file, Item[] items, long afterTick) throws IOException {
+        if (!Files.exists(file)) {
+            return afterTick;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = committedLength(channel);
+            long lastTick = afterTick;
+
+            // Entries of pendingTick read so far: (index, sellIn, quality) triples
+            long pendingTick = afterTick;
+            int[] pending = new int[3 * 1_024];
+            int pendingValues = 0;
+
+            FrameReader reader = new FrameReader(channel);
+            while (reader.position < end) {
+                ByteBuffer frame = reader.next();
+                int type = frame.getInt();
+                long tick = frame.getLong();
+                int count = frame.getInt();
+                if (tick <= afterTick) {
+                    continue;
+                }
+                if (type == COMMIT) {
+                    if (tick == pendingTick) {
+                        for (int v = 0; v < pendingValues; v += 3) {
+                            Item item = items[pending[v]];
+                            item.sellIn = pending[v + 1];
+                            item.quality = pending[v + 2];
+                        }
+                    }
+                    pendingValues = 0;
+                    lastTick = tick;
+                    continue;
+                }
+                if (tick != pendingTick) {
+                    // The previous tick was never committed: drop its entries
+                    pendingTick = tick;
+                    pendingValues = 0;
+                }
+                if (pending.length - pendingValues < 3 * count) {
+                    pending = Arrays.copyOf(pending, Math.max(2 * pending.length, pendingValues + 3 * count));
+                }
+                for (int e = 0; e < count; e++) {
+                    pending[pendingValues++] = frame.getInt();
+                    pending[pendingValues++] = frame.getInt();
+                    pending[pendingValues++] = frame.getInt();
+                }
+            }
+            return lastTick;
+        }
+    }
+
+    /*
+     * Length of the file up to the end of the last COMMIT frame,
+     * stopping at the first frame that is torn or fails its CRC.
+     */
+    private static long committedLength(FileChannel channel) throws IOException {
+        FrameReader reader = new FrameReader(channel);
+        long committed = 0;
+        ByteBuffer frame;
+        while ((frame = reader.nextOrNull()) != null) {
+            if (frame.getInt(0) == COMMIT) {
+                committed = reader.position;
+            }
+        }
+        return committed;
+    }
+
+    private void writeFrame() {
+        buffer.flip();
+        crc.reset();
+        crc.update(buffer);
+        buffer.limit(buffer.limit() + CRC_SIZE);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write delta log", e);
+        }
+    }
+
+    /**
+     * Reads frames one at a time, checking each one's CRC.
+     */
+    private static final class FrameReader {
+
+        private final FileChannel channel;
+        private final ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_SIZE + CRC_SIZE);
+        long position;
+
+        FrameReader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        ByteBuffer next() throws IOException {
+            ByteBuffer next = nextOrNull();
+            if (next == null) {
+                throw new IOException("Corrupt delta log frame at " + position);
+            }
+            return next;
+        }
+
+        /*
+         * The next valid frame (CRC excluded from its limit), or null
+         * at the end of the file or at a torn or damaged frame.
+         */
+        ByteBuffer nextOrNull() throws IOException {
+            header.clear();
+            if (!read(header, position)) {
+                return null;
+            }
+            int type = header.getInt(0);
+            int count = header.getInt(12);
+            if ((type != ENTRIES && type != COMMIT) || count < 0
+                    || count > (Integer.MAX_VALUE - FRAME_HEADER_SIZE - CRC_SIZE) / ENTRY_SIZE) {
+                return null;
+            }
+            int length = FRAME_HEADER_SIZE + count * ENTRY_SIZE + CRC_SIZE;
+            if (frame.capacity() < length) {
+                frame = ByteBuffer.allocate(length);
+            }
+            frame.clear();
+            frame.limit(length);
+            if (!read(frame, position)) {
+                return null;
+            }
+            crc.reset();
+            crc.update(frame.array(), 0, length - CRC_SIZE);
+            if ((int) crc.getValue() != frame.getInt(length - CRC_SIZE)) {
+                return null;
+            }
+            position += length;
+            frame.flip();
+            frame.limit(length - CRC_SIZE);
+            return frame;
+        }
+
+        private boolean read(ByteBuffer buffer, long at) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, at + buffer.position()) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.gildedrose;
 
+import java.util.concurrent.RecursiveAction;
+
 /**
  * GildedRose is responsible for updating the sellIn and quality
  * values for all inventory items.
@@ -8,17 +10,52 @@ package com.gildedrose;
  * - Remove deeply nested conditionals
  * - Separate business rules into small, readable methods
  * - Preserve original behavior exactly
+ * - Classify each item name once instead of on every tick
  */
 class GildedRose {
 
     // Collection of items managed by the system
     Item[] items;
 
+    /*
+     * Category cache, one slot per item.
+     * classifiedNames[i] is the exact name String that categories[i]
+     * was resolved from. Item.name is a public field, so before using
+     * a cached category we check (by reference) that the name has not
+     * been replaced; if it has, the item is classified again.
+     */
+    private String[] classifiedNames = new String[0];
+    private ItemCategory[] categories = new ItemCategory[0];
+
+    // Optional metrics; null means metrics are disabled
+    private final InventoryMetrics metrics;
+
+    // Optional change log; null means changes are not logged
+    private final ChangeLog changeLog;
+
     /**
      * Constructor simply stores the items array.
      */
     public GildedRose(Item[] items) {
+        this(items, null);
+    }
+
+    /**
+     * Same as GildedRose(items), recording what each tick does
+     * into the given metrics (null disables metrics).
+     */
+    public GildedRose(Item[] items, InventoryMetrics metrics) {
+        this(items, metrics, null);
+    }
+
+    /**
+     * Same as GildedRose(items, metrics), also writing every change
+     * to the given change log (null disables logging).
+     */
+    public GildedRose(Item[] items, InventoryMetrics metrics, ChangeLog changeLog) {
         this.items = items;
+        this.metrics = metrics;
+        this.changeLog = changeLog;
     }
 
     /**
@@ -31,16 +68,191 @@ class GildedRose {
      */
     public void updateQuality() {
 
-        for (Item item : items) {
+        syncCategoryCache();
+
+        if (changeLog != null) {
+            long start = System.nanoTime();
+            changeLog.beginTick();
+            updateRangeWithChangeLog(0, items.length);
+            changeLog.endTick();
+            if (metrics != null) {
+                metrics.recordTick(System.nanoTime() - start);
+            }
+            return;
+        }
+
+        if (metrics == null) {
+            updateRange(0, items.length);
+            return;
+        }
+
+        long start = System.nanoTime();
+        updateRange(0, items.length);
+        metrics.recordTick(System.nanoTime() - start);
+    }
+
+    /**
+     * Opt-in parallel version of updateQuality().
+
+     * Each item is updated independently, so the array is split into
+     * chunks that run on the policy's ForkJoinPool. Small inventories
+     * fall back to the sequential path, and so does any GildedRose
+     * with a change log (entries are written in item order).
+     * Results are identical to updateQuality() as long as no Item
+     * object appears twice in items.
+     */
+    public void updateQuality(ParallelismPolicy policy) {
+
+        if (changeLog != null || policy.runSequentially(items.length)) {
+            updateQuality();
+            return;
+        }
+
+        syncCategoryCache();
+
+        long start = metrics == null ? 0 : System.nanoTime();
+        int chunkSize = policy.chunkSize(items.length);
+        policy.pool().invoke(new UpdateTask(0, items.length, chunkSize));
+        if (metrics != null) {
+            metrics.recordTick(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Moves every item forward by the given number of days at once.
+
+     * Equivalent to calling updateQuality() "days" times, but each
+     * item's final sellIn and quality are computed directly
+     * (see DayAdvance), so the cost does not grow with days.
+     */
+    public void advance(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("days must not be negative: " + days);
+        }
+
+        syncCategoryCache();
+
+        for (int i = 0; i < items.length; i++) {
+            DayAdvance.advance(items[i], categoryOf(i), days);
+        }
+    }
+
+    /**
+     * Updates items[from] (inclusive) to items[to] (exclusive).
+     */
+    void updateRange(int from, int to) {
+        if (metrics != null) {
+            updateRangeWithMetrics(from, to);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            updateItem(items[i], categoryOf(i));
+        }
+    }
+
+    /**
+     * Same as updateRange, also counting items per category, expired
+     * items and limit hits. Counts are kept locally and published once
+     * per range, so threads do not contend on every item.
+     */
+    private void updateRangeWithMetrics(int from, int to) {
+        long[] countsByCategory = new long[ItemCategory.values().length];
+        long expired = 0;
+        ClampCounts clamps = new ClampCounts();
+        for (int i = from; i < to; i++) {
+            Item item = items[i];
+            ItemCategory category = categoryOf(i);
+            updateItem(item, category, clamps);
+            countsByCategory[category.ordinal()]++;
+            if (item.sellIn < 0 && category != ItemCategory.SULFURAS) {
+                expired++;
+            }
+        }
+        metrics.recordItems(countsByCategory, expired, clamps.atMaximum, clamps.atMinimum);
+    }
+
+    /**
+     * Same as updateRange, also writing one change log entry per
+     * changed item. Counts metrics too when they are enabled.
+     */
+    private void updateRangeWithChangeLog(int from, int to) {
+        long[] countsByCategory = new long[ItemCategory.values().length];
+        long expired = 0;
+        ClampCounts clamps = new ClampCounts();
+        for (int i = from; i < to; i++) {
+            Item item = items[i];
+            ItemCategory category = categoryOf(i);
+            int oldSellIn = item.sellIn;
+            int oldQuality = item.quality;
+
+            long clampsBefore = clamps.total();
+            updateItem(item, category, clamps);
+            countsByCategory[category.ordinal()]++;
+
+            if (item.sellIn == oldSellIn && item.quality == oldQuality) {
+                continue;
+            }
+            int flags = clamps.total() != clampsBefore ? ChangeLog.CLAMPED : 0;
+            if (item.sellIn < 0) {
+                flags |= ChangeLog.EXPIRED;
+                expired++;
+                if (category == ItemCategory.BACKSTAGE_PASS) {
+                    flags |= ChangeLog.DROPPED_TO_ZERO;
+                }
+            }
+            changeLog.record(i, oldSellIn, oldQuality, item.sellIn, item.quality, flags);
+        }
+        if (metrics != null) {
+            metrics.recordItems(countsByCategory, expired, clamps.atMaximum, clamps.atMinimum);
+        }
+    }
+
+    /**
+     * Applies one day of rules to a single item whose
+     * category has already been resolved.
+     */
+    void updateItem(Item item, ItemCategory category) {
+        updateItem(item, category, null);
+    }
+
+    /**
+     * Same as updateItem(item, category), also counting limit hits
+     * into clamps when it is not null.
+     */
+    private void updateItem(Item item, ItemCategory category, ClampCounts clamps) {
+
+        // Step 1: Apply standard quality rules
+        updateItemQuality(item, category, clamps);
+
+        // Step 2: Decrement sellIn where appropriate
+        updateSellIn(item, category);
 
-            // Step 1: Apply standard quality rules
-            updateItemQuality(item);
+        // Step 3: Apply expiration rules (sellIn < 0)
+        handleExpiredItem(item, category, clamps);
+    }
 
-            // Step 2: Decrement sellIn where appropriate
-            updateSellIn(item);
+    /**
+     * Returns the cached category of items[index],
+     * re-classifying it if its name was changed since the last lookup.
+     * syncCategoryCache() must have been called for the current array.
+     */
+    ItemCategory categoryOf(int index) {
+        String name = items[index].name;
+        if (classifiedNames[index] != name) {
+            categories[index] = ItemCategory.resolve(name);
+            classifiedNames[index] = name;
+        }
+        return categories[index];
+    }
 
-            // Step 3: Apply expiration rules (sellIn < 0)
-            handleExpiredItem(item);
+    /**
+     * Resizes the category cache when the items array has been
+     * replaced by one of a different length (items is not final).
+     */
+    void syncCategoryCache() {
+        if (categories.length != items.length) {
+            classifiedNames = new String[items.length];
+            categories = new ItemCategory[items.length];
         }
     }
 
@@ -55,29 +267,29 @@ class GildedRose {
      * - Normal items decrease in quality
      * - Sulfuras never changes
      */
-    private void updateItemQuality(Item item) {
+    private void updateItemQuality(Item item, ItemCategory category, ClampCounts clamps) {
 
-        if (isAgedBrie(item)) {
-            increaseQuality(item);
+        if (category == ItemCategory.AGED_BRIE) {
+            increaseQuality(item, clamps);
 
-        } else if (isBackstagePass(item)) {
+        } else if (category == ItemCategory.BACKSTAGE_PASS) {
 
             // Backstage passes increase in quality as sell date approaches
-            increaseQuality(item);
+            increaseQuality(item, clamps);
 
             // Additional increase when 10 days or fewer remain
             if (item.sellIn <= 10) {
-                increaseQuality(item);
+                increaseQuality(item, clamps);
             }
 
             // Additional increase when 5 days or fewer remain
             if (item.sellIn <= 5) {
-                increaseQuality(item);
+                increaseQuality(item, clamps);
             }
 
-        } else if (!isSulfuras(item)) {
+        } else if (category != ItemCategory.SULFURAS) {
             // Normal and Conjured items handled here
-            checkConjured(item);
+            checkConjured(item, category, clamps);
         }
     }
 
@@ -87,8 +299,8 @@ class GildedRose {
 
      * Sulfuras is legendary and does not change.
      */
-    private void updateSellIn(Item item) {
-        if (!isSulfuras(item)) {
+    private void updateSellIn(Item item, ItemCategory category) {
+        if (category != ItemCategory.SULFURAS) {
             item.sellIn--;
         }
     }
@@ -103,23 +315,23 @@ class GildedRose {
      * - Backstage passes drop to zero
      * - Sulfuras remains unchanged
      */
-    private void handleExpiredItem(Item item) {
+    private void handleExpiredItem(Item item, ItemCategory category, ClampCounts clamps) {
 
         // If item has not expired, no additional logic applies
         if (item.sellIn >= 0) {
             return;
         }
 
-        if (isAgedBrie(item)) {
-            increaseQuality(item);
+        if (category == ItemCategory.AGED_BRIE) {
+            increaseQuality(item, clamps);
 
-        } else if (isBackstagePass(item)) {
+        } else if (category == ItemCategory.BACKSTAGE_PASS) {
             // After concert, quality drops to zero
             item.quality = 0;
 
-        } else if (!isSulfuras(item)) {
+        } else if (category != ItemCategory.SULFURAS) {
             // Apply additional degradation logic after expiration
-            checkConjured(item);
+            checkConjured(item, category, clamps);
         }
     }
 
@@ -130,12 +342,12 @@ class GildedRose {
      *   (representing "twice as fast" degradation).
      * This method is reused both before and after expiration.
      */
-    private void checkConjured(Item item) {
-        if (isConjured(item)){
-            decreaseQuality(item);
-            decreaseQuality(item);
+    private void checkConjured(Item item, ItemCategory category, ClampCounts clamps) {
+        if (category == ItemCategory.CONJURED) {
+            decreaseQuality(item, clamps);
+            decreaseQuality(item, clamps);
         } else {
-            decreaseQuality(item);
+            decreaseQuality(item, clamps);
         }
     }
 
@@ -143,45 +355,72 @@ class GildedRose {
      * Quality boundary helpers:
      * Increases quality by 1, ensuring it never exceeds 50.
      */
-    private void increaseQuality(Item item) {
+    private void increaseQuality(Item item, ClampCounts clamps) {
         if (item.quality < 50) {
             item.quality++;
+        } else {
+            if (clamps != null) {
+                clamps.atMaximum++;
+            }
         }
     }
 
     /**
      * Decreases quality by 1, ensuring it never drops below 0.
      */
-    private void decreaseQuality(Item item) {
+    private void decreaseQuality(Item item, ClampCounts clamps) {
         if (item.quality > 0) {
             item.quality--;
+        } else {
+            if (clamps != null) {
+                clamps.atMinimum++;
+            }
         }
     }
 
     /**
-     * Centralized item type checks.
-     * This removes repeated string literals ("magic strings")
-     * from the main logic and improves readability.
+     * Limit hits of one range. Each range gets its own instance on the
+     * thread that updates it, so the update loop never writes to
+     * fields shared with other threads.
      */
+    private static final class ClampCounts {
 
-    private boolean isAgedBrie(Item item) {
-        return item.name.equals("Aged Brie");
-    }
-
-    private boolean isBackstagePass(Item item) {
-        return item.name.equals("Backstage passes to a TAFKAL80ETC concert");
-    }
+        long atMaximum;
+        long atMinimum;
 
-    private boolean isSulfuras(Item item) {
-        return item.name.equals("Sulfuras, Hand of Ragnaros");
+        long total() {
+            return atMaximum + atMinimum;
+        }
     }
 
     /**
-     * Identifies Conjured items.
-     * Conjured items degrade twice as fast as normal items.
-     * Uses name matching to preserve compatibility with legacy design.
+     * Fork/join task that halves its range until it is small
+     * enough, then updates it with updateRange().
+     * ForkJoinTask is Serializable, but these tasks are never
+     * serialized: they live only for one updateQuality(policy) call.
      */
-    private boolean isConjured(Item item) {
-        return item.name.contains("Conjured");
+    @SuppressWarnings("serial")
+    private final class UpdateTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        UpdateTask(int from, int to, int chunkSize) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                updateRange(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new UpdateTask(from, middle, chunkSize),
+                      new UpdateTask(middle, to, chunkSize));
+        }
     }
 }
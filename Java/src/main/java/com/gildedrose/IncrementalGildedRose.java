@@ -0,0 +1,146 @@
+package com.gildedrose;
+
+/**
+ * IncrementalGildedRose skips items whose quality can no longer change.
+
+ * Such "settled" items are:
+ * - Sulfuras (never changes at all)
+ * - Normal and Conjured items at quality 0 or below (cannot degrade further)
+ * - Aged Brie at quality 50 or above (cannot improve further)
+ * - Backstage passes after the concert (sellIn below 0) at quality 0
+
+ * Once settled, an item only needs its sellIn decremented each day
+ * (Sulfuras not even that). Instead of visiting it, the tick at which
+ * it settled is remembered and the owed decrements are applied lazily
+ * when the item is read through item(i) or items(). Each tick therefore
+ * only costs time for the items that still change.
+
+ * Results read through item(i) / items() are identical to a full
+ * GildedRose.updateQuality() pass. Reading the items array directly
+ * may show a stale sellIn for settled items. After changing items from
+ * outside, call reindex() so settled items are re-checked.
+ */
+class IncrementalGildedRose {
+
+    // Marks an item that is still updated on every tick
+    private static final int ACTIVE = -1;
+
+    private final Item[] items;
+    private final ItemCategory[] categories;
+
+    // Tick at which each item settled, or ACTIVE
+    private final int[] settledAt;
+
+    // Indexes of the items that are still updated, in array order
+    private final int[] active;
+    private int activeCount;
+
+    // Number of ticks run so far
+    private int tick;
+
+    // Provides the standard per-item rules
+    private final GildedRose rules = new GildedRose(new Item[0]);
+
+    public IncrementalGildedRose(Item[] items) {
+        this.items = items;
+        this.categories = new ItemCategory[items.length];
+        this.settledAt = new int[items.length];
+        this.active = new int[items.length];
+        reindex();
+    }
+
+    /**
+     * Main update method executed once per day.
+     * Only items that can still change are visited.
+     */
+    public void updateQuality() {
+        tick++;
+        int kept = 0;
+        for (int a = 0; a < activeCount; a++) {
+            int i = active[a];
+            Item item = items[i];
+            rules.updateItem(item, categories[i]);
+            if (isSettled(categories[i], item.sellIn, item.quality)) {
+                settledAt[i] = tick;
+            } else {
+                active[kept++] = i;
+            }
+        }
+        activeCount = kept;
+    }
+
+    /**
+     * Returns items[index] with its sellIn brought up to date.
+     */
+    Item item(int index) {
+        catchUp(index);
+        return items[index];
+    }
+
+    /**
+     * Brings every item up to date and returns the items array.
+     */
+    Item[] items() {
+        for (int i = 0; i < items.length; i++) {
+            catchUp(i);
+        }
+        return items;
+    }
+
+    /**
+     * Number of items still updated on each tick.
+     */
+    int activeCount() {
+        return activeCount;
+    }
+
+    /**
+     * Re-classifies every item and rebuilds the active list.
+     * Needed after names or qualities are changed from outside.
+     */
+    void reindex() {
+        activeCount = 0;
+        for (int i = 0; i < items.length; i++) {
+            catchUp(i);
+            categories[i] = ItemCategory.resolve(items[i].name);
+            if (isSettled(categories[i], items[i].sellIn, items[i].quality)) {
+                settledAt[i] = tick;
+            } else {
+                settledAt[i] = ACTIVE;
+                active[activeCount++] = i;
+            }
+        }
+    }
+
+    /**
+     * Applies the sellIn decrements a settled item has missed.
+     */
+    private void catchUp(int index) {
+        int since = settledAt[index];
+        if (since == ACTIVE || since == tick) {
+            return;
+        }
+        if (categories[index] != ItemCategory.SULFURAS) {
+            items[index].sellIn -= tick - since;
+        }
+        settledAt[index] = tick;
+    }
+
+    /**
+     * True when no future tick can change the item's quality.
+     */
+    private static boolean isSettled(ItemCategory category, int sellIn, int quality) {
+        switch (category) {
+            case SULFURAS:
+                return true;
+            case AGED_BRIE:
+                return quality >= 50;
+            case NORMAL:
+            case CONJURED:
+                return quality <= 0;
+            default:
+                // After the concert a pass is reset to zero on every tick
+                return sellIn < 0 && quality == 0;
+        }
+    }
+}
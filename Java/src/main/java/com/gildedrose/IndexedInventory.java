@@ -0,0 +1,227 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * IndexedInventory answers questions like "which backstage passes are
+ * 6 days out" or "which items expire this week" without scanning every
+ * item. Indexes are kept up to date by its own updateQuality().
+
+ * INDEXES (each one kept separately per ItemCategory):
+ * - expiry: item indexes keyed by the day they expire, i.e.
+ *   sellIn + epoch, where epoch counts ticks. A normal tick lowers
+ *   sellIn by one and raises epoch by one, so the key never changes
+ *   and nothing has to be moved. Sulfuras, whose sellIn is fixed,
+ *   is keyed by sellIn alone.
+ * - quality: one bucket per quality 0..50, plus one for values below
+ *   and one for values above; items move between buckets only when
+ *   their quality actually changes.
+
+ * sellIn and quality are also mirrored in int arrays, so filtering
+ * candidates does not have to visit the Item objects.
+
+ * Query results are arrays of indexes into the items array. A query
+ * walks whichever index has the fewest candidates. If items are
+ * changed from outside, call reindex().
+ */
+final class IndexedInventory {
+
+    // Quality buckets: [0] below 0, [1..51] quality 0..50, [52] above 50
+    private static final int QUALITY_BUCKETS = 53;
+
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    private final Item[] items;
+    private final ItemCategory[] categories;
+    private final int[] sellIn;
+    private final int[] quality;
+    private final GildedRose rules = new GildedRose(new Item[0]);
+
+    // [category] -> expiry key -> item indexes
+    private List<TreeMap<Long, IntBag>> byExpiry;
+
+    // [category][quality bucket] -> item indexes
+    private IntBag[][] byQuality;
+
+    // Position of each item inside its quality bucket
+    private final int[] qualityPosition;
+
+    // Ticks applied since the expiry index was built
+    private int epoch;
+
+    IndexedInventory(Item[] items) {
+        this.items = items;
+        this.categories = new ItemCategory[items.length];
+        this.sellIn = new int[items.length];
+        this.quality = new int[items.length];
+        this.qualityPosition = new int[items.length];
+        reindex();
+    }
+
+    Item[] items() {
+        return items;
+    }
+
+    /**
+     * Daily update (GildedRose rules) that also maintains the indexes.
+     */
+    void updateQuality() {
+        for (int i = 0; i < items.length; i++) {
+            Item item = items[i];
+            rules.updateItem(item, categories[i]);
+            sellIn[i] = item.sellIn;
+            if (item.quality != quality[i]) {
+                moveQuality(i, item.quality);
+            }
+        }
+        epoch++;
+    }
+
+    /**
+     * Rebuilds every index from the current item state.
+     */
+    void reindex() {
+        epoch = 0;
+        byExpiry = new ArrayList<>();
+        byQuality = new IntBag[CATEGORIES.length][QUALITY_BUCKETS];
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            byExpiry.add(new TreeMap<>());
+            for (int b = 0; b < QUALITY_BUCKETS; b++) {
+                byQuality[c][b] = new IntBag();
+            }
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            Item item = items[i];
+            ItemCategory category = ItemCategory.resolve(item.name);
+            categories[i] = category;
+            sellIn[i] = item.sellIn;
+            quality[i] = item.quality;
+            bag(byExpiry.get(category.ordinal()), expiryKey(category, item.sellIn)).add(i);
+            qualityPosition[i] = byQuality[category.ordinal()][qualityBucket(item.quality)].add(i);
+        }
+    }
+
+    /* QUERIES */
+
+    int[] withCategory(ItemCategory category) {
+        return query(category, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Items whose current sellIn is between minSellIn and maxSellIn
+     * (inclusive), e.g. (0, 7) for "expires within the week".
+     */
+    int[] withSellInBetween(int minSellIn, int maxSellIn) {
+        return query(null, minSellIn, maxSellIn, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Items whose quality is between minQuality and maxQuality (inclusive).
+     */
+    int[] withQualityBetween(int minQuality, int maxQuality) {
+        return query(null, Integer.MIN_VALUE, Integer.MAX_VALUE, minQuality, maxQuality);
+    }
+
+    /**
+     * Combined query: category (null = any), sellIn range and quality
+     * range, all inclusive.
+     */
+    int[] query(ItemCategory category, int minSellIn, int maxSellIn, int minQuality, int maxQuality) {
+        IntBag result = new IntBag();
+        if (minSellIn > maxSellIn || minQuality > maxQuality) {
+            return result.toArray();
+        }
+        for (ItemCategory c : CATEGORIES) {
+            if (category == null || category == c) {
+                queryCategory(c, minSellIn, maxSellIn, minQuality, maxQuality, result);
+            }
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Walks the smaller of the category's expiry and quality buckets
+     * in range and checks the other condition on the mirrored values.
+     */
+    private void queryCategory(ItemCategory category, int minSellIn, int maxSellIn,
+                               int minQuality, int maxQuality, IntBag result) {
+        Collection<IntBag> bySellIn = byExpiry.get(category.ordinal())
+            .subMap(expiryKey(category, minSellIn), true, expiryKey(category, maxSellIn), true)
+            .values();
+        List<IntBag> byQualityRange = new ArrayList<>();
+        IntBag[] buckets = byQuality[category.ordinal()];
+        for (int b = qualityBucket(minQuality); b <= qualityBucket(maxQuality); b++) {
+            byQualityRange.add(buckets[b]);
+        }
+
+        // Conditions the walked index already guarantees are not re-checked
+        boolean walkQuality = count(byQualityRange) < count(bySellIn);
+        boolean checkSellIn = walkQuality && (minSellIn != Integer.MIN_VALUE || maxSellIn != Integer.MAX_VALUE);
+        boolean checkQuality = !walkQuality || minQuality < 0 || maxQuality > 50;
+        checkQuality &= minQuality != Integer.MIN_VALUE || maxQuality != Integer.MAX_VALUE;
+
+        for (IntBag bucket : walkQuality ? byQualityRange : bySellIn) {
+            if (!checkSellIn && !checkQuality) {
+                result.addAll(bucket);
+                continue;
+            }
+            for (int p = 0; p < bucket.size(); p++) {
+                int i = bucket.get(p);
+                if ((!checkSellIn || (sellIn[i] >= minSellIn && sellIn[i] <= maxSellIn))
+                    && (!checkQuality || (quality[i] >= minQuality && quality[i] <= maxQuality))) {
+                    result.add(i);
+                }
+            }
+        }
+    }
+
+    private long expiryKey(ItemCategory category, int sellIn) {
+        return category == ItemCategory.SULFURAS ? sellIn : (long) sellIn + epoch;
+    }
+
+    private void moveQuality(int index, int to) {
+        IntBag[] buckets = byQuality[categories[index].ordinal()];
+        int fromBucket = qualityBucket(quality[index]);
+        int toBucket = qualityBucket(to);
+        quality[index] = to;
+        if (fromBucket == toBucket) {
+            return;
+        }
+        int moved = buckets[fromBucket].removeAt(qualityPosition[index]);
+        if (moved >= 0) {
+            qualityPosition[moved] = qualityPosition[index];
+        }
+        qualityPosition[index] = buckets[toBucket].add(index);
+    }
+
+    private static int qualityBucket(int quality) {
+        if (quality < 0) {
+            return 0;
+        }
+        if (quality > 50) {
+            return QUALITY_BUCKETS - 1;
+        }
+        return quality + 1;
+    }
+
+    private static long count(Collection<IntBag> buckets) {
+        long total = 0;
+        for (IntBag bucket : buckets) {
+            total += bucket.size();
+        }
+        return total;
+    }
+
+    private static IntBag bag(TreeMap<Long, IntBag> map, long key) {
+        IntBag bag = map.get(key);
+        if (bag == null) {
+            bag = new IntBag();
+            map.put(key, bag);
+        }
+        return bag;
+    }
+}
@@ -0,0 +1,60 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+
+/**
+ * IntBag is a growable list of ints (item indexes) without boxing.
+ * Order is not preserved by remove(), which swaps in the last value.
+ */
+final class IntBag {
+
+    private int[] values = new int[4];
+    private int size;
+
+    /**
+     * Appends a value and returns its position.
+     */
+    int add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        return size++;
+    }
+
+    /**
+     * Appends every value of another bag.
+     */
+    void addAll(IntBag other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Removes the value at a position by moving the last value into it.
+     * Returns the value that now sits at that position (or -1 if none).
+     */
+    int removeAt(int position) {
+        size--;
+        if (position == size) {
+            return -1;
+        }
+        values[position] = values[size];
+        return values[position];
+    }
+
+    int get(int position) {
+        return values[position];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
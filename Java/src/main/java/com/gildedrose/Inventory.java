@@ -0,0 +1,201 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Inventory is a growable item container that GildedRose can update
+ * in place, so deliveries and sales do not rebuild the whole Item[].
+
+ * - add / addAll append into spare capacity; the backing array grows
+ *   by half its size when full, so appends are amortized O(1) and a
+ *   batch grows it at most once
+ * - remove / removeIf only clear the slot (O(1) per item); the gaps
+ *   are closed by compact(), which updateQuality() runs first, so
+ *   removals are batched into one pass between ticks
+ * - updateQuality() runs GildedRose.updateRange over the live items
+ *   of the backing array, the same loop as GildedRose.updateQuality()
+
+ * Positions are stable until the next compaction: get(i) returns null
+ * for an item removed since then. compact() keeps the remaining items
+ * in their original order.
+ */
+final class Inventory {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final GildedRose app;
+
+    // Backing array; slots [0, slots) are in use, removed slots are null
+    private Item[] items;
+    private int slots;
+    private int removed;
+
+    Inventory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    Inventory(int initialCapacity) {
+        items = new Item[Math.max(initialCapacity, 1)];
+        app = new GildedRose(items);
+    }
+
+    /**
+     * Appends one item.
+     */
+    void add(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("item must not be null");
+        }
+        ensureCapacity(slots + 1);
+        items[slots++] = item;
+    }
+
+    /**
+     * Appends a delivery, growing the backing array at most once.
+     * The whole delivery is checked first: a rejected one adds nothing.
+     */
+    void addAll(Item... delivery) {
+        for (Item item : delivery) {
+            if (item == null) {
+                throw new IllegalArgumentException("delivery must not contain null items");
+            }
+        }
+        ensureCapacity(slots + delivery.length);
+        System.arraycopy(delivery, 0, items, slots, delivery.length);
+        slots += delivery.length;
+    }
+
+    /**
+     * Same as addAll(Item...) for a collection.
+     */
+    void addAll(Collection<Item> delivery) {
+        addAll(delivery.toArray(new Item[0]));
+    }
+
+    /**
+     * Removes the item at a position. The slot is cleared now and
+     * closed by the next compaction.
+     */
+    void remove(int index) {
+        if (index < 0 || index >= slots) {
+            throw new IndexOutOfBoundsException("index " + index + ", slots " + slots);
+        }
+        if (items[index] != null) {
+            items[index] = null;
+            removed++;
+        }
+    }
+
+    /**
+     * Removes every item matching the filter (sold, expired, ...)
+     * and returns how many were removed.
+     */
+    int removeIf(Predicate<Item> filter) {
+        int count = 0;
+        for (int i = 0; i < slots; i++) {
+            Item item = items[i];
+            if (item != null && filter.test(item)) {
+                items[i] = null;
+                count++;
+            }
+        }
+        removed += count;
+        return count;
+    }
+
+    /**
+     * Closes the gaps left by removals, keeping item order.
+     */
+    void compact() {
+        if (removed == 0) {
+            return;
+        }
+        int next = 0;
+        for (int i = 0; i < slots; i++) {
+            Item item = items[i];
+            if (item != null) {
+                items[next++] = item;
+            }
+        }
+        Arrays.fill(items, next, slots, null);
+        slots = next;
+        removed = 0;
+    }
+
+    /**
+     * One day for every item, with the same rules and order of
+     * operations as GildedRose.updateQuality(). Pending removals
+     * are compacted first.
+     */
+    void updateQuality() {
+        compact();
+        app.items = items;
+        app.syncCategoryCache();
+        app.updateRange(0, slots);
+    }
+
+    /**
+     * Number of items, not counting removed ones.
+     */
+    int size() {
+        return slots - removed;
+    }
+
+    /**
+     * Number of positions in use, including removed ones not yet
+     * compacted (valid indexes for get / remove).
+     */
+    int slots() {
+        return slots;
+    }
+
+    int capacity() {
+        return items.length;
+    }
+
+    /**
+     * Item at a position, or null if it was removed since the last
+     * compaction.
+     */
+    Item get(int index) {
+        if (index < 0 || index >= slots) {
+            throw new IndexOutOfBoundsException("index " + index + ", slots " + slots);
+        }
+        return items[index];
+    }
+
+    void forEach(Consumer<Item> action) {
+        for (int i = 0; i < slots; i++) {
+            Item item = items[i];
+            if (item != null) {
+                action.accept(item);
+            }
+        }
+    }
+
+    /**
+     * The live items, in order, as a new array.
+     */
+    Item[] toArray() {
+        Item[] live = new Item[size()];
+        int next = 0;
+        for (int i = 0; i < slots; i++) {
+            if (items[i] != null) {
+                live[next++] = items[i];
+            }
+        }
+        return live;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= items.length) {
+            return;
+        }
+        // Gaps are not reused here: that would move items between ticks
+        int grown = Math.max(needed, items.length + (items.length >> 1));
+        items = Arrays.copyOf(items, grown);
+    }
+}
@@ -0,0 +1,291 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * InventoryCheckpoint saves the state of an Item[] after a given tick,
+ * in a binary form that loads much faster than parsing text.
+
+ * LAYOUT (all values big-endian):
+ *   header      magic, version, tick, record count, name count,
+ *               dictionary length, CRC32
+ *   dictionary  each name as length + UTF-8 bytes
+ *   records     one RECORD_SIZE entry per item: name id, sellIn, quality
+
+ * The CRC covers everything after the header, so a torn or damaged
+ * file is rejected instead of being loaded with wrong values.
+
+ * CRASH SAFETY:
+ * A checkpoint is written to a temporary file next to the target,
+ * forced to disk and then renamed over the target in one step. A crash
+ * at any point leaves either the previous checkpoint or the new one,
+ * never a mix of both.
+ */
+final class InventoryCheckpoint {
+
+    static final int MAGIC = 0x47524350; // "GRCP"
+    static final int VERSION = 1;
+
+    // magic (4) + version (4) + tick (8) + record count (8)
+    // + name count (4) + dictionary length (4) + crc (4)
+    static final int HEADER_SIZE = 36;
+
+    // name id (4) + sellIn (4) + quality (4)
+    static final int RECORD_SIZE = 12;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private InventoryCheckpoint() {
+    }
+
+    /**
+     * State loaded back from a checkpoint.
+     */
+    static final class Restored {
+
+        final long tick;
+        final Item[] items;
+
+        Restored(long tick, Item[] items) {
+            this.tick = tick;
+            this.items = items;
+        }
+    }
+
+    /**
+     * Writes items as the state after the given tick, replacing
+     * any existing checkpoint at file atomically.
+     */
+    static void write(Item[] items, long tick, Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeTo(channel, items, tick);
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(file);
+    }
+
+    /**
+     * Loads a checkpoint, failing with an IOException if it is
+     * incomplete or does not match its checksum.
+     */
+    static Restored read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not an inventory checkpoint: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version: " + version);
+            }
+            long tick = header.getLong();
+            long recordCount = header.getLong();
+            int nameCount = header.getInt();
+            int dictionaryLength = header.getInt();
+            int expectedCrc = header.getInt();
+            if (recordCount < 0 || recordCount > Integer.MAX_VALUE - 8 || nameCount < 0 || dictionaryLength < 0
+                    || channel.size() != HEADER_SIZE + dictionaryLength + recordCount * RECORD_SIZE) {
+                throw new IOException("Incomplete or corrupt checkpoint: " + file);
+            }
+
+            CRC32 crc = new CRC32();
+            ByteBuffer dictionary = ByteBuffer.allocate(dictionaryLength);
+            readFully(channel, dictionary, HEADER_SIZE);
+            dictionary.flip();
+            crc.update(dictionary.array(), 0, dictionary.limit());
+            String[] names = readNames(dictionary, nameCount, file);
+
+            Item[] items = readRecords(channel, HEADER_SIZE + dictionaryLength, (int) recordCount, names, crc);
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("Checkpoint checksum mismatch: " + file);
+            }
+            return new Restored(tick, items);
+        }
+    }
+
+    private static void writeTo(FileChannel channel, Item[] items, long tick) throws IOException {
+        // Pass 1: collect the distinct names so the dictionary can go first
+        NameIds nameIds = new NameIds();
+        for (Item item : items) {
+            nameIds.idOf(item.name);
+        }
+        List<byte[]> encoded = new ArrayList<>(nameIds.names.size());
+        int dictionaryLength = 0;
+        for (String name : nameIds.names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            dictionaryLength += 4 + bytes.length;
+        }
+
+        CRC32 crc = new CRC32();
+        channel.position(HEADER_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        for (byte[] bytes : encoded) {
+            if (buffer.remaining() < 4 + bytes.length) {
+                flush(channel, buffer, crc);
+            }
+            if (buffer.remaining() < 4 + bytes.length) {
+                // Name longer than the buffer: write it on its own
+                ByteBuffer large = ByteBuffer.allocate(4 + bytes.length);
+                large.putInt(bytes.length);
+                large.put(bytes);
+                flush(channel, large, crc);
+                continue;
+            }
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+
+        // Pass 2: the records
+        for (Item item : items) {
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush(channel, buffer, crc);
+            }
+            buffer.putInt(nameIds.idOf(item.name));
+            buffer.putInt(item.sellIn);
+            buffer.putInt(item.quality);
+        }
+        flush(channel, buffer, crc);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(tick);
+        header.putLong(items.length);
+        header.putInt(nameIds.names.size());
+        header.putInt(dictionaryLength);
+        header.putInt((int) crc.getValue());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /*
+     * Records are read in large chunks straight into new Items that
+     * share the dictionary's name Strings.
+     */
+    private static Item[] readRecords(FileChannel channel, long offset, int count, String[] names, CRC32 crc)
+            throws IOException {
+        Item[] items = new Item[count];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE - BUFFER_SIZE % RECORD_SIZE);
+        long position = offset;
+        int next = 0;
+        while (next < count) {
+            buffer.clear();
+            buffer.limit(Math.min(buffer.capacity(), (count - next) * RECORD_SIZE));
+            readFully(channel, buffer, position);
+            buffer.flip();
+            position += buffer.limit();
+            crc.update(buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int nameId = buffer.getInt();
+                if (nameId < 0 || nameId >= names.length) {
+                    throw new IOException("Corrupt checkpoint record " + next);
+                }
+                int sellIn = buffer.getInt();
+                items[next++] = new Item(names[nameId], sellIn, buffer.getInt());
+            }
+        }
+        return items;
+    }
+
+    private static String[] readNames(ByteBuffer dictionary, int count, Path file) throws IOException {
+        String[] names = new String[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[dictionary.getInt()];
+                dictionary.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt checkpoint dictionary: " + file, e);
+        }
+        return names;
+    }
+
+    /*
+     * Name to id map. Consecutive items often share a name String,
+     * so the last lookup is remembered and the map skipped for those.
+     */
+    private static final class NameIds {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private String lastName;
+        private int lastId = -1;
+
+        int idOf(String name) {
+            if (name == lastName && lastId >= 0) {
+                return lastId;
+            }
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = names.size();
+                ids.put(name, id);
+                names.add(name);
+            }
+            lastName = name;
+            lastId = id;
+            return id;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+
+    /*
+     * Makes the rename itself durable. Not every platform lets a
+     * directory be opened for this, so failure is ignored.
+     */
+    private static void syncDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Best effort only
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * InventoryForecast projects the total quality of an inventory over
+ * the coming days under many what-if scenarios ("sell these passes
+ * today", "hold them 3 more days", "a delivery arrives on day 10").
+
+ * WHY:
+ * - Running each scenario by cloning the Item[] and calling
+ *   updateQuality() every day costs items x days per scenario.
+ * - Items do not affect each other, so the total of a scenario is the
+ *   total of the unchanged inventory (the BASE), minus the items it
+ *   removes, plus the items it adds.
+ * - The base trajectory is computed once (in parallel over items) and
+ *   shared read-only; each scenario only walks its own removed and
+ *   added items, and copies the base totals, so a scenario costs
+ *   (changed items + 1) x days and never copies the inventory.
+
+ * Day 0 is the inventory as given; day d is the state after d calls
+ * to updateQuality(), with exactly the same rules.
+
+ * Scenarios run in parallel on the policy's ForkJoinPool.
+ */
+final class InventoryForecast {
+
+    private final ColumnarInventory base;
+    private final int maxHorizon;
+
+    // Base total quality per day, 0..maxHorizon; never written after construction
+    private final long[] baseTotals;
+
+    private InventoryForecast(ColumnarInventory base, int maxHorizon, long[] baseTotals) {
+        this.base = base;
+        this.maxHorizon = maxHorizon;
+        this.baseTotals = baseTotals;
+    }
+
+    /**
+     * Takes a snapshot of the items and computes the base trajectory
+     * for up to maxHorizon days. Later changes to the Items are not seen.
+     */
+    static InventoryForecast of(Item[] items, int maxHorizon, ParallelismPolicy policy) {
+        if (maxHorizon < 0) {
+            throw new IllegalArgumentException("maxHorizon must not be negative: " + maxHorizon);
+        }
+        ColumnarInventory base = ColumnarInventory.fromItems(items);
+        long[] totals;
+        if (policy.runSequentially(base.size())) {
+            totals = new long[maxHorizon + 1];
+            accumulateRange(base, 0, base.size(), totals);
+        } else {
+            int chunkSize = policy.chunkSize(base.size());
+            totals = policy.pool().invoke(new BaseTask(base, maxHorizon, 0, base.size(), chunkSize));
+        }
+        return new InventoryForecast(base, maxHorizon, totals);
+    }
+
+    static InventoryForecast of(Item[] items, int maxHorizon) {
+        return of(items, maxHorizon, ParallelismPolicy.commonPool());
+    }
+
+    int size() {
+        return base.size();
+    }
+
+    int maxHorizon() {
+        return maxHorizon;
+    }
+
+    /**
+     * Trajectory of the inventory with no changes.
+     */
+    Trajectory baseline(int horizon) {
+        return run(new Scenario(horizon));
+    }
+
+    /**
+     * Runs one scenario on the calling thread.
+     */
+    Trajectory run(Scenario scenario) {
+        int horizon = scenario.horizon;
+        if (horizon > maxHorizon) {
+            throw new IllegalArgumentException(
+                "Scenario horizon " + horizon + " is past the forecast's " + maxHorizon + " days");
+        }
+        long[] totals = Arrays.copyOf(baseTotals, horizon + 1);
+        int[] counts = new int[horizon + 1];
+        Arrays.fill(counts, base.size());
+
+        checkRemovals(scenario);
+        for (int r = 0; r < scenario.removedCount; r++) {
+            int i = scenario.removedIndexes[r];
+            int from = scenario.removedDays[r];
+            accumulate(base.category[i], base.sellIn[i], base.quality[i], 0, from, totals, -1);
+            for (int day = from; day <= horizon; day++) {
+                counts[day]--;
+            }
+        }
+        for (int a = 0; a < scenario.added.size(); a++) {
+            Item item = scenario.added.get(a);
+            int from = scenario.addedDays[a];
+            byte category = ItemCategory.resolve(item.name).id();
+            accumulate(category, item.sellIn, item.quality, from, from, totals, 1);
+            for (int day = from; day <= horizon; day++) {
+                counts[day]++;
+            }
+        }
+        return new Trajectory(totals, counts);
+    }
+
+    /**
+     * Runs every scenario, in parallel on the policy's pool, and
+     * returns their trajectories in the same order.
+     */
+    Trajectory[] run(List<Scenario> scenarios, ParallelismPolicy policy) {
+        Trajectory[] results = new Trajectory[scenarios.size()];
+        if (scenarios.size() <= 1 || policy.pool().getParallelism() == 1) {
+            for (int s = 0; s < results.length; s++) {
+                results[s] = run(scenarios.get(s));
+            }
+            return results;
+        }
+        policy.pool().invoke(new ScenarioTask(scenarios, results, 0, results.length));
+        return results;
+    }
+
+    Trajectory[] run(List<Scenario> scenarios) {
+        return run(scenarios, ParallelismPolicy.commonPool());
+    }
+
+    /**
+     * Adds base[from, to) to totals, day by day.
+     */
+    private static void accumulateRange(ColumnarInventory base, int from, int to, long[] totals) {
+        for (int i = from; i < to; i++) {
+            accumulate(base.category[i], base.sellIn[i], base.quality[i], 0, 0, totals, 1);
+        }
+    }
+
+    /**
+     * Walks one item from startDay (where it has sellIn s and quality q)
+     * to the last day of totals, adding sign * quality to every day
+     * from countFrom on. Same per-day rules as ColumnarInventory.updateQuality.
+     */
+    private static void accumulate(byte c, int s, int q, int startDay, int countFrom, long[] totals, int sign) {
+        int lastDay = totals.length - 1;
+        if (c == ItemCategory.SULFURAS.id()) {
+            // Legendary: the same quality every day
+            for (int day = Math.max(startDay, countFrom); day <= lastDay; day++) {
+                totals[day] += sign * q;
+            }
+            return;
+        }
+        for (int day = startDay; day <= lastDay; day++) {
+            if (day >= countFrom) {
+                totals[day] += sign * q;
+            }
+            q = ColumnarInventory.beforeExpiry(c, s, q);
+            s--;
+            if (s < 0) {
+                q = ColumnarInventory.afterExpiry(c, q);
+            }
+        }
+    }
+
+    /*
+     * Each base index may be removed once, and must exist.
+     */
+    private void checkRemovals(Scenario scenario) {
+        int[] sorted = Arrays.copyOf(scenario.removedIndexes, scenario.removedCount);
+        Arrays.sort(sorted);
+        for (int r = 0; r < sorted.length; r++) {
+            if (sorted[r] < 0 || sorted[r] >= base.size()) {
+                throw new IllegalArgumentException(
+                    "Removed index " + sorted[r] + " is not in the inventory (size " + base.size() + ")");
+            }
+            if (r > 0 && sorted[r] == sorted[r - 1]) {
+                throw new IllegalArgumentException("Item " + sorted[r] + " is removed twice");
+            }
+        }
+    }
+
+    /**
+     * One what-if: how many days to look ahead, which base items
+     * leave the inventory (by index in the forecast's Item[]) and
+     * which new items arrive, each on a given day.
+
+     * An item removed on day d counts on days before d only; an item
+     * added on day d counts from day d on, with the given sellIn and
+     * quality on that day. Not thread safe while being built.
+     */
+    static final class Scenario {
+
+        private final int horizon;
+
+        private int[] removedIndexes = new int[8];
+        private int[] removedDays = new int[8];
+        private int removedCount;
+
+        private final List<Item> added = new ArrayList<>();
+        private int[] addedDays = new int[8];
+
+        Scenario(int horizon) {
+            if (horizon < 0) {
+                throw new IllegalArgumentException("horizon must not be negative: " + horizon);
+            }
+            this.horizon = horizon;
+        }
+
+        int horizon() {
+            return horizon;
+        }
+
+        /**
+         * The item is sold today: it is not counted on any day.
+         */
+        Scenario remove(int index) {
+            return removeOn(0, index);
+        }
+
+        /**
+         * The item is sold at the start of the given day.
+         */
+        Scenario removeOn(int day, int index) {
+            checkDay(day);
+            if (removedCount == removedIndexes.length) {
+                removedIndexes = Arrays.copyOf(removedIndexes, removedCount * 2);
+                removedDays = Arrays.copyOf(removedDays, removedCount * 2);
+            }
+            removedIndexes[removedCount] = index;
+            removedDays[removedCount] = day;
+            removedCount++;
+            return this;
+        }
+
+        /**
+         * The item is in stock from today.
+         */
+        Scenario add(Item item) {
+            return addOn(0, item);
+        }
+
+        /**
+         * The item arrives at the start of the given day, with its
+         * current sellIn and quality. The Item is read, never changed.
+         */
+        Scenario addOn(int day, Item item) {
+            checkDay(day);
+            if (item == null) {
+                throw new IllegalArgumentException("item must not be null");
+            }
+            if (added.size() == addedDays.length) {
+                addedDays = Arrays.copyOf(addedDays, addedDays.length * 2);
+            }
+            addedDays[added.size()] = day;
+            added.add(item);
+            return this;
+        }
+
+        private void checkDay(int day) {
+            if (day < 0 || day > horizon) {
+                throw new IllegalArgumentException("day " + day + " is outside 0.." + horizon);
+            }
+        }
+    }
+
+    /**
+     * Result of a scenario: total quality and number of items in
+     * stock on each day, 0..horizon.
+     */
+    static final class Trajectory {
+
+        private final long[] totalQuality;
+        private final int[] itemCount;
+
+        Trajectory(long[] totalQuality, int[] itemCount) {
+            this.totalQuality = totalQuality;
+            this.itemCount = itemCount;
+        }
+
+        int horizon() {
+            return totalQuality.length - 1;
+        }
+
+        long totalQuality(int day) {
+            return totalQuality[day];
+        }
+
+        int itemCount(int day) {
+            return itemCount[day];
+        }
+    }
+
+    /*
+     * Base totals of items[from, to), split until a chunk is small
+     * enough; each chunk sums into its own array, merged on join.
+     * Never serialized (see GildedRose.UpdateTask).
+     */
+    @SuppressWarnings("serial")
+    private static final class BaseTask extends RecursiveTask<long[]> {
+
+        private final ColumnarInventory base;
+        private final int maxHorizon;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        BaseTask(ColumnarInventory base, int maxHorizon, int from, int to, int chunkSize) {
+            this.base = base;
+            this.maxHorizon = maxHorizon;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= chunkSize) {
+                long[] totals = new long[maxHorizon + 1];
+                accumulateRange(base, from, to, totals);
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            BaseTask left = new BaseTask(base, maxHorizon, from, middle, chunkSize);
+            left.fork();
+            long[] totals = new BaseTask(base, maxHorizon, middle, to, chunkSize).compute();
+            long[] leftTotals = left.join();
+            for (int day = 0; day < totals.length; day++) {
+                totals[day] += leftTotals[day];
+            }
+            return totals;
+        }
+    }
+
+    /*
+     * Runs scenarios[from, to), split until one scenario is left.
+     * Never serialized (see GildedRose.UpdateTask).
+     */
+    @SuppressWarnings("serial")
+    private final class ScenarioTask extends RecursiveAction {
+
+        private final List<Scenario> scenarios;
+        private final Trajectory[] results;
+        private final int from;
+        private final int to;
+
+        ScenarioTask(List<Scenario> scenarios, Trajectory[] results, int from, int to) {
+            this.scenarios = scenarios;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = run(scenarios.get(from));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScenarioTask(scenarios, results, from, middle),
+                      new ScenarioTask(scenarios, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * InventoryJournal keeps an inventory restartable: a checkpoint every
+ * N ticks, plus a delta log of the ticks run since then.
+
+ * FILES (inside the journal directory):
+ *   checkpoint.bin  full state after some tick (InventoryCheckpoint)
+ *   deltas.log      committed changes since that tick (DeltaLog)
+
+ * RESTART:
+ * open() loads the checkpoint in bulk and replays only the committed
+ * deltas, then the inventory is ready for its next tick. Nothing has
+ * to be parsed from text and no rules are evaluated during restore.
+
+ * A checkpoint is written before the delta log is cleared. A crash
+ * in between leaves deltas the checkpoint already covers; replay skips
+ * them because they are not newer than the checkpoint's tick.
+ */
+final class InventoryJournal implements Closeable {
+
+    static final String CHECKPOINT_FILE = "checkpoint.bin";
+    static final String DELTA_FILE = "deltas.log";
+
+    private final Path checkpoint;
+    private final int checkpointEvery;
+    private final GildedRose app;
+    private final ChangeLog changeLog;
+    private final DeltaLog deltas;
+    private long lastCheckpointTick;
+
+    private InventoryJournal(Path directory, Item[] items, long tick, long checkpointTick, int checkpointEvery)
+            throws IOException {
+        this.checkpoint = directory.resolve(CHECKPOINT_FILE);
+        this.checkpointEvery = checkpointEvery;
+        this.lastCheckpointTick = checkpointTick;
+        this.deltas = DeltaLog.open(directory.resolve(DELTA_FILE));
+        this.changeLog = new ChangeLog(deltas, ChangeLog.DEFAULT_CAPACITY, tick);
+        this.app = new GildedRose(items, null, changeLog);
+    }
+
+    /**
+     * Opens the journal in directory. If it holds a checkpoint, the
+     * inventory is restored from it and initialItems is ignored;
+     * otherwise initialItems becomes the state at tick 0.
+     */
+    static InventoryJournal open(Path directory, Item[] initialItems, int checkpointEvery) throws IOException {
+        if (checkpointEvery <= 0) {
+            throw new IllegalArgumentException("checkpointEvery must be positive: " + checkpointEvery);
+        }
+        Files.createDirectories(directory);
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        Path deltaFile = directory.resolve(DELTA_FILE);
+
+        if (!Files.exists(checkpoint)) {
+            InventoryCheckpoint.write(initialItems, 0, checkpoint);
+            Files.deleteIfExists(deltaFile);
+            return new InventoryJournal(directory, initialItems, 0, 0, checkpointEvery);
+        }
+
+        InventoryCheckpoint.Restored restored = InventoryCheckpoint.read(checkpoint);
+        long tick = DeltaLog.replay(deltaFile, restored.items, restored.tick);
+        return new InventoryJournal(directory, restored.items, tick, restored.tick, checkpointEvery);
+    }
+
+    /**
+     * Runs one tick, logging its changes, and writes a checkpoint
+     * when checkpointEvery ticks have passed since the last one.
+     */
+    void tick() throws IOException {
+        app.updateQuality();
+        if (changeLog.currentTick() - lastCheckpointTick >= checkpointEvery) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Writes a checkpoint of the current state now.
+     */
+    void checkpoint() throws IOException {
+        long tick = changeLog.currentTick();
+        InventoryCheckpoint.write(app.items, tick, checkpoint);
+        deltas.clear();
+        lastCheckpointTick = tick;
+    }
+
+    long currentTick() {
+        return changeLog.currentTick();
+    }
+
+    Item[] items() {
+        return app.items;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deltas.close();
+    }
+}
@@ -0,0 +1,166 @@
+package com.gildedrose;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * InventoryMetrics collects counters about what updateQuality() does.
+
+ * Metrics are optional: a GildedRose created without an
+ * InventoryMetrics instance skips all of this, and its update loop
+ * is the same as before metrics existed.
+
+ * Counters are LongAdders so the parallel update can record from
+ * several threads. Values can be read directly (pull API) or through
+ * JMX after calling register().
+
+ * Counted per tick:
+ * - items updated, per category
+ * - items that are expired after the update (sellIn < 0, not Sulfuras)
+ * - clamp hits: increaseQuality at 50+ or decreaseQuality at 0 or below
+ * - tick latency, as a histogram
+ */
+public final class InventoryMetrics implements InventoryMetricsMBean {
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder[] itemsByCategory = new LongAdder[ItemCategory.values().length];
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder clampedAtMaximum = new LongAdder();
+    private final LongAdder clampedAtMinimum = new LongAdder();
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+
+    public InventoryMetrics() {
+        for (int c = 0; c < itemsByCategory.length; c++) {
+            itemsByCategory[c] = new LongAdder();
+        }
+    }
+
+    /**
+     * Publishes these metrics on the platform MBean server as
+     * com.gildedrose:type=InventoryMetrics,name=[name].
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("com.gildedrose:type=InventoryMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /* Recording (called by GildedRose) */
+
+    void recordTick(long nanos) {
+        ticks.increment();
+        tickLatency.record(nanos);
+    }
+
+    /**
+     * Adds the per-category, expired and clamp counts of one updated range.
+     */
+    void recordItems(long[] countsByCategory, long expiredCount, long clampsAtMaximum, long clampsAtMinimum) {
+        for (int c = 0; c < countsByCategory.length; c++) {
+            if (countsByCategory[c] != 0) {
+                itemsByCategory[c].add(countsByCategory[c]);
+            }
+        }
+        expired.add(expiredCount);
+        if (clampsAtMaximum != 0) {
+            clampedAtMaximum.add(clampsAtMaximum);
+        }
+        if (clampsAtMinimum != 0) {
+            clampedAtMinimum.add(clampsAtMinimum);
+        }
+    }
+
+    /* Pull API */
+
+    long itemsIn(ItemCategory category) {
+        return itemsByCategory[category.ordinal()].sum();
+    }
+
+    LatencyHistogram tickLatency() {
+        return tickLatency;
+    }
+
+    @Override
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    @Override
+    public long getItemsUpdated() {
+        long total = 0;
+        for (LongAdder count : itemsByCategory) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getNormalItems() {
+        return itemsIn(ItemCategory.NORMAL);
+    }
+
+    @Override
+    public long getConjuredItems() {
+        return itemsIn(ItemCategory.CONJURED);
+    }
+
+    @Override
+    public long getAgedBrieItems() {
+        return itemsIn(ItemCategory.AGED_BRIE);
+    }
+
+    @Override
+    public long getBackstagePassItems() {
+        return itemsIn(ItemCategory.BACKSTAGE_PASS);
+    }
+
+    @Override
+    public long getSulfurasItems() {
+        return itemsIn(ItemCategory.SULFURAS);
+    }
+
+    @Override
+    public long getExpiredItems() {
+        return expired.sum();
+    }
+
+    @Override
+    public long getClampedAtMaximum() {
+        return clampedAtMaximum.sum();
+    }
+
+    @Override
+    public long getClampedAtMinimum() {
+        return clampedAtMinimum.sum();
+    }
+
+    @Override
+    public long getTickLatencyP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(tickLatency.percentileNanos(0.50));
+    }
+
+    @Override
+    public long getTickLatencyP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(tickLatency.percentileNanos(0.99));
+    }
+
+    @Override
+    public long getTickLatencyMaxMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(tickLatency.maxNanos());
+    }
+
+    @Override
+    public void reset() {
+        ticks.reset();
+        for (LongAdder count : itemsByCategory) {
+            count.reset();
+        }
+        expired.reset();
+        clampedAtMaximum.reset();
+        clampedAtMinimum.reset();
+        tickLatency.reset();
+    }
+}
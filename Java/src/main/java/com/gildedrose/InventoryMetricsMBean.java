@@ -0,0 +1,35 @@
+package com.gildedrose;
+
+/**
+ * JMX view of InventoryMetrics (see InventoryMetrics.register).
+ */
+public interface InventoryMetricsMBean {
+
+    long getTicks();
+
+    long getItemsUpdated();
+
+    long getNormalItems();
+
+    long getConjuredItems();
+
+    long getAgedBrieItems();
+
+    long getBackstagePassItems();
+
+    long getSulfurasItems();
+
+    long getExpiredItems();
+
+    long getClampedAtMaximum();
+
+    long getClampedAtMinimum();
+
+    long getTickLatencyP50Micros();
+
+    long getTickLatencyP99Micros();
+
+    long getTickLatencyMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,59 @@
+package com.gildedrose;
+
+/**
+ * InventorySnapshot is a read-only, consistent view of an inventory
+ * at one point in time (one generation of a ConcurrentInventory).
+
+ * Its arrays are never modified after it is published, so any
+ * number of threads can read it without locks while the next
+ * generation is being computed.
+ */
+final class InventorySnapshot {
+
+    private final ColumnarInventory inventory;
+    private final long generation;
+
+    InventorySnapshot(ColumnarInventory inventory, long generation) {
+        this.inventory = inventory;
+        this.generation = generation;
+    }
+
+    /**
+     * Number of ticks applied to reach this snapshot.
+     */
+    long generation() {
+        return generation;
+    }
+
+    int size() {
+        return inventory.size();
+    }
+
+    String name(int index) {
+        return inventory.names[index];
+    }
+
+    int sellIn(int index) {
+        return inventory.sellIn[index];
+    }
+
+    int quality(int index) {
+        return inventory.quality[index];
+    }
+
+    /**
+     * New Item objects holding this snapshot's state.
+     */
+    Item[] toItems() {
+        return inventory.toItems();
+    }
+
+    /**
+     * The next generation: a copy with one more day applied.
+     */
+    InventorySnapshot next() {
+        ColumnarInventory next = inventory.copy();
+        next.updateQuality();
+        return new InventorySnapshot(next, generation + 1);
+    }
+}
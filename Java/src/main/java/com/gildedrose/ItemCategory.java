@@ -0,0 +1,79 @@
+package com.gildedrose;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ItemCategory identifies which set of business rules applies to an item.
+
+ * The mapping mirrors the name checks in GildedRose exactly:
+ * - "Aged Brie", the backstage pass and Sulfuras are matched by full name
+ * - Any other name containing "Conjured" is a Conjured item
+ * - Everything else is a normal item
+ */
+enum ItemCategory {
+
+    NORMAL,
+    CONJURED,
+    AGED_BRIE,
+    BACKSTAGE_PASS,
+    SULFURAS;
+
+    // Cached copy of values() so lookups by id do not clone the array
+    private static final ItemCategory[] BY_ID = values();
+
+    // Upper bound on distinct names remembered by the name table
+    static final int MAX_CACHED_NAMES = 4096;
+
+    // Shared name -> category table, filled on first sight of each name
+    private static final Map<String, ItemCategory> NAME_TABLE = new ConcurrentHashMap<>();
+
+    /**
+     * Cached version of of(String).
+     * Each distinct name is classified with string compares only once;
+     * after that it is a single hash lookup. Once the table is full,
+     * new names are classified directly instead of growing the table,
+     * so a catalog with unbounded unique names cannot exhaust the heap.
+     */
+    static ItemCategory resolve(String name) {
+        ItemCategory category = NAME_TABLE.get(name);
+        if (category == null) {
+            category = of(name);
+            if (NAME_TABLE.size() < MAX_CACHED_NAMES) {
+                NAME_TABLE.put(name, category);
+            }
+        }
+        return category;
+    }
+
+    /**
+     * Resolves the category for an item name.
+     * The order of checks matches GildedRose so the two never disagree.
+     */
+    static ItemCategory of(String name) {
+        if (name.equals("Aged Brie")) {
+            return AGED_BRIE;
+        }
+        if (name.equals("Backstage passes to a TAFKAL80ETC concert")) {
+            return BACKSTAGE_PASS;
+        }
+        if (name.equals("Sulfuras, Hand of Ragnaros")) {
+            return SULFURAS;
+        }
+        if (name.contains("Conjured")) {
+            return CONJURED;
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Compact id used by the array based engines (fits in a byte).
+     */
+    byte id() {
+        return (byte) ordinal();
+    }
+
+    static ItemCategory byId(byte id) {
+        return BY_ID[id];
+    }
+}
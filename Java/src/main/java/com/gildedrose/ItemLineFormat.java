@@ -0,0 +1,44 @@
+package com.gildedrose;
+
+/**
+ * ItemLineFormat reads the "name, sellIn, quality" text lines
+ * written by Item.toString() (and printed by TexttestFixture).
+
+ * Names may themselves contain ", " (e.g. "Sulfuras, Hand of Ragnaros"),
+ * so the two numbers are taken from the END of the line.
+ */
+final class ItemLineFormat {
+
+    static final String SEPARATOR = ", ";
+
+    private ItemLineFormat() {
+    }
+
+    /**
+     * Parses one line into a new Item.
+     */
+    static Item parse(String line) {
+        Item item = new Item(null, 0, 0);
+        parseInto(line, item);
+        return item;
+    }
+
+    /**
+     * Parses one line into an existing Item, so callers
+     * streaming many lines can reuse the same objects.
+     */
+    static void parseInto(String line, Item target) {
+        int qualityStart = line.lastIndexOf(SEPARATOR);
+        int sellInStart = qualityStart > 0 ? line.lastIndexOf(SEPARATOR, qualityStart - 1) : -1;
+        if (sellInStart < 0) {
+            throw new IllegalArgumentException("Not a 'name, sellIn, quality' line: " + line);
+        }
+        try {
+            target.sellIn = Integer.parseInt(line.substring(sellInStart + SEPARATOR.length(), qualityStart));
+            target.quality = Integer.parseInt(line.substring(qualityStart + SEPARATOR.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a 'name, sellIn, quality' line: " + line, e);
+        }
+        target.name = line.substring(0, sellInStart);
+    }
+}
@@ -0,0 +1,141 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+
+/**
+ * ItemRule describes how one kind of item changes each day.
+
+ * A rule is data, not code. RuleBasedGildedRose runs every rule through
+ * the same loop, so registering more rules never adds virtual calls to
+ * the hot path.
+
+ * Each day, in the same order as GildedRose:
+ * 1. Before expiry: quality changes by qualityChange, plus the bonus of
+ *    every tier whose day limit is >= the current sellIn
+ * 2. sellIn decreases by one (unless the rule is legendary)
+ * 3. After expiry (sellIn < 0): quality changes by expiredQualityChange,
+ *    or drops to zero for rules built with dropsToZeroWhenExpired()
+
+ * Quality moves one step at a time and stops at 0 / 50, exactly like
+ * increaseQuality / decreaseQuality in GildedRose.
+ */
+final class ItemRule {
+
+    /**
+     * Normal items: -1 per day, -2 once expired.
+     */
+    static final ItemRule NORMAL = builder().qualityChange(-1).expiredQualityChange(-1).build();
+
+    /**
+     * Conjured items: twice as fast as normal items.
+     */
+    static final ItemRule CONJURED = builder().qualityChange(-2).expiredQualityChange(-2).build();
+
+    /**
+     * Aged Brie: +1 per day, +2 once expired.
+     */
+    static final ItemRule AGED_BRIE = builder().qualityChange(1).expiredQualityChange(1).build();
+
+    /**
+     * Backstage passes: +1, +2 within 10 days, +3 within 5 days, 0 after the concert.
+     */
+    static final ItemRule BACKSTAGE_PASS = builder()
+        .qualityChange(1)
+        .bonusWithin(10, 1)
+        .bonusWithin(5, 1)
+        .dropsToZeroWhenExpired()
+        .build();
+
+    /**
+     * Sulfuras: legendary, never changes.
+     */
+    static final ItemRule LEGENDARY = builder().legendary().build();
+
+    final boolean legendary;
+    final int qualityChange;
+    final int[] tierDays;
+    final int[] tierBonus;
+    final boolean dropsToZeroWhenExpired;
+    final int expiredQualityChange;
+
+    private ItemRule(Builder builder) {
+        this.legendary = builder.legendary;
+        this.qualityChange = builder.qualityChange;
+        this.tierDays = Arrays.copyOf(builder.tierDays, builder.tierCount);
+        this.tierBonus = Arrays.copyOf(builder.tierBonus, builder.tierCount);
+        this.dropsToZeroWhenExpired = builder.dropsToZeroWhenExpired;
+        this.expiredQualityChange = builder.expiredQualityChange;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for ItemRule. Unset values mean "no change".
+     */
+    static final class Builder {
+
+        private boolean legendary;
+        private int qualityChange;
+        private int[] tierDays = new int[2];
+        private int[] tierBonus = new int[2];
+        private int tierCount;
+        private boolean dropsToZeroWhenExpired;
+        private int expiredQualityChange;
+
+        private Builder() {
+        }
+
+        /**
+         * Never changes sellIn or quality (like Sulfuras).
+         */
+        Builder legendary() {
+            this.legendary = true;
+            return this;
+        }
+
+        /**
+         * Daily quality change before expiry (negative = degrade).
+         */
+        Builder qualityChange(int change) {
+            this.qualityChange = change;
+            return this;
+        }
+
+        /**
+         * Extra quality change on days starting with sellIn <= days.
+         * Tiers add up, like the 10 and 5 day backstage pass tiers.
+         */
+        Builder bonusWithin(int days, int bonus) {
+            if (tierCount == tierDays.length) {
+                tierDays = Arrays.copyOf(tierDays, tierCount * 2);
+                tierBonus = Arrays.copyOf(tierBonus, tierCount * 2);
+            }
+            tierDays[tierCount] = days;
+            tierBonus[tierCount] = bonus;
+            tierCount++;
+            return this;
+        }
+
+        /**
+         * Additional quality change on each day that ends with sellIn < 0.
+         */
+        Builder expiredQualityChange(int change) {
+            this.expiredQualityChange = change;
+            return this;
+        }
+
+        /**
+         * Quality becomes 0 on each day that ends with sellIn < 0.
+         */
+        Builder dropsToZeroWhenExpired() {
+            this.dropsToZeroWhenExpired = true;
+            return this;
+        }
+
+        ItemRule build() {
+            return new ItemRule(this);
+        }
+    }
+}
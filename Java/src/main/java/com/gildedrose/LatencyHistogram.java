@@ -0,0 +1,74 @@
+package com.gildedrose;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram records durations in power-of-two nanosecond buckets.
+
+ * Recording is a couple of atomic adds with no allocation, so it can be
+ * shared between threads. Percentiles are approximate: a value is
+ * reported as the upper bound of its bucket (at most 2x too high).
+ */
+final class LatencyHistogram {
+
+    // Bucket b holds durations in [2^(b-1), 2^b) ns; bucket 0 holds 0
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    long count() {
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            total += counts.get(b);
+        }
+        return total;
+    }
+
+    long maxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Approximate duration below which the given fraction
+     * (e.g. 0.99) of recorded values fall. 0 when empty.
+     */
+    long percentileNanos(double fraction) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) {
+                return Math.min(upperBound(b), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            counts.set(b, 0);
+        }
+        max.set(0);
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,155 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * MappedInventory applies the GildedRose rules directly inside a
+ * BinaryInventoryFormat file, through memory-mapped buffers.
+
+ * WHY:
+ * - No parsing, no Item objects and no copies: sellIn and quality
+ *   are read and written in place in the page cache.
+ * - Files larger than the heap (and larger than the 2 GB limit of a
+ *   single mapping) are handled as a list of mapped segments.
+
+ * Mapped buffers are released by the garbage collector, not by close();
+ * close() only closes the channel after flushing changes with force().
+ */
+final class MappedInventory implements Closeable {
+
+    // Largest number of records in one mapping (must fit in an int of bytes)
+    static final int MAX_SEGMENT_RECORDS = Integer.MAX_VALUE / BinaryInventoryFormat.RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int segmentRecords;
+    private final MappedByteBuffer[] segments;
+
+    // Dictionary names and the category of each name id
+    private final String[] names;
+    private final byte[] nameCategory;
+
+    private MappedInventory(FileChannel channel, int segmentRecords) throws IOException {
+        this.channel = channel;
+        long[] header = BinaryInventoryFormat.readHeader(channel);
+        this.size = header[0];
+        this.names = BinaryInventoryFormat.readDictionary(channel, header[1]);
+        this.segmentRecords = segmentRecords;
+
+        // Categories are resolved once per distinct name, not per record
+        this.nameCategory = new byte[names.length];
+        for (int i = 0; i < names.length; i++) {
+            nameCategory[i] = ItemCategory.resolve(names[i]).id();
+        }
+
+        int segmentCount = (int) ((size + segmentRecords - 1) / segmentRecords);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            long first = (long) s * segmentRecords;
+            long records = Math.min(segmentRecords, size - first);
+            segments[s] = channel.map(FileChannel.MapMode.READ_WRITE,
+                BinaryInventoryFormat.HEADER_SIZE + first * BinaryInventoryFormat.RECORD_SIZE,
+                records * BinaryInventoryFormat.RECORD_SIZE);
+        }
+    }
+
+    /**
+     * Opens a binary inventory file for in-place updates.
+     */
+    static MappedInventory open(Path file) throws IOException {
+        return open(file, MAX_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Same as open(Path) with a custom segment size (used by tests
+     * to cross segment boundaries without multi-GB files).
+     */
+    static MappedInventory open(Path file, int segmentRecords) throws IOException {
+        if (segmentRecords <= 0 || segmentRecords > MAX_SEGMENT_RECORDS) {
+            throw new IllegalArgumentException(
+                "segmentRecords must be in 1.." + MAX_SEGMENT_RECORDS + ": " + segmentRecords);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new MappedInventory(channel, segmentRecords);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    String name(long index) {
+        return names[segment(index).getInt(offset(index) + BinaryInventoryFormat.NAME_ID_OFFSET)];
+    }
+
+    int sellIn(long index) {
+        return segment(index).getInt(offset(index) + BinaryInventoryFormat.SELL_IN_OFFSET);
+    }
+
+    int quality(long index) {
+        return segment(index).getInt(offset(index) + BinaryInventoryFormat.QUALITY_OFFSET);
+    }
+
+    /**
+     * One daily update of every record, in place.
+     * Same rules and order of operations as GildedRose.updateQuality().
+     */
+    void updateQuality() {
+        final byte sulfuras = ItemCategory.SULFURAS.id();
+        for (MappedByteBuffer segment : segments) {
+            int end = segment.limit();
+            for (int at = 0; at < end; at += BinaryInventoryFormat.RECORD_SIZE) {
+                byte c = nameCategory[segment.getInt(at + BinaryInventoryFormat.NAME_ID_OFFSET)];
+                if (c == sulfuras) {
+                    continue;
+                }
+                int s = segment.getInt(at + BinaryInventoryFormat.SELL_IN_OFFSET);
+                int q = ColumnarInventory.beforeExpiry(c, s, segment.getInt(at + BinaryInventoryFormat.QUALITY_OFFSET));
+                s--;
+                if (s < 0) {
+                    q = ColumnarInventory.afterExpiry(c, q);
+                }
+                segment.putInt(at + BinaryInventoryFormat.SELL_IN_OFFSET, s);
+                segment.putInt(at + BinaryInventoryFormat.QUALITY_OFFSET, q);
+            }
+        }
+    }
+
+    /**
+     * Writes pending changes to the storage device.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private MappedByteBuffer segment(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return segments[(int) (index / segmentRecords)];
+    }
+
+    private int offset(long index) {
+        return (int) (index % segmentRecords) * BinaryInventoryFormat.RECORD_SIZE;
+    }
+}
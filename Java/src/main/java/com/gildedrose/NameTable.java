@@ -0,0 +1,49 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NameTable stores each distinct item name once and hands out small
+ * integer ids for it. The category of each name is resolved when the
+ * name is first added, so per-item code only deals with ids.
+ */
+final class NameTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private byte[] categories = new byte[16];
+
+    /**
+     * Id of the name, adding it on first use.
+     */
+    int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId = names.size();
+        ids.put(name, newId);
+        names.add(name);
+        if (newId == categories.length) {
+            categories = Arrays.copyOf(categories, newId * 2);
+        }
+        categories[newId] = ItemCategory.resolve(name).id();
+        return newId;
+    }
+
+    String name(int id) {
+        return names.get(id);
+    }
+
+    byte category(int id) {
+        return categories[id];
+    }
+
+    int size() {
+        return names.size();
+    }
+}
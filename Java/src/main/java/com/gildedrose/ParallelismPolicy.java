@@ -0,0 +1,67 @@
+package com.gildedrose;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * ParallelismPolicy describes how GildedRose.updateQuality(ParallelismPolicy)
+ * may split the daily update across threads.
+
+ * - pool: where the chunks run (the common pool by default)
+ * - sequentialThreshold: inventories smaller than this are updated
+ *   on the calling thread, since forking would cost more than it saves
+ */
+final class ParallelismPolicy {
+
+    // Below this many items forking is not worth it
+    static final int DEFAULT_SEQUENTIAL_THRESHOLD = 10_000;
+
+    // Smallest range handed to a single task
+    static final int MIN_CHUNK_SIZE = 1_024;
+
+    // Number of chunks per worker, so idle workers can steal
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    private ParallelismPolicy(ForkJoinPool pool, int sequentialThreshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        if (sequentialThreshold < 0) {
+            throw new IllegalArgumentException("sequentialThreshold must not be negative");
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Runs on the JVM wide common pool with the default threshold.
+     */
+    static ParallelismPolicy commonPool() {
+        return new ParallelismPolicy(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Runs on the given pool, e.g. new ForkJoinPool(4) to limit cores.
+     */
+    static ParallelismPolicy of(ForkJoinPool pool, int sequentialThreshold) {
+        return new ParallelismPolicy(pool, sequentialThreshold);
+    }
+
+    ForkJoinPool pool() {
+        return pool;
+    }
+
+    boolean runSequentially(int itemCount) {
+        return itemCount < sequentialThreshold || pool.getParallelism() == 1;
+    }
+
+    /**
+     * Range size at which a task stops splitting and updates directly.
+     */
+    int chunkSize(int itemCount) {
+        int chunks = pool.getParallelism() * CHUNKS_PER_WORKER;
+        return Math.max(MIN_CHUNK_SIZE, itemCount / chunks);
+    }
+}
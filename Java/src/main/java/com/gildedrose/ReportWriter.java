@@ -0,0 +1,233 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ReportWriter writes items as "name, sellIn, quality" lines, the
+ * format of Item.toString(), without building a String per line.
+
+ * WHY:
+ * - println(item) concatenates a new String per item, and the
+ *   PrintStream encodes it to bytes again on every call. For large
+ *   daily reports that costs more than the update itself.
+ * - Here each distinct name is encoded once and kept, the numbers are
+ *   formatted digit by digit, and everything goes into one reusable
+ *   byte buffer, written out when full (or on flush / close).
+
+ * Output is byte for byte the same as writing item.toString() followed
+ * by System.lineSeparator() in the same charset (see ReportWriterTest).
+
+ * The charset must encode digits, '-', ',' and ' ' as ASCII (UTF-8,
+ * ISO-8859-1, US-ASCII, ...). Names are cached by String equality, up
+ * to MAX_CACHED_NAMES of them; past that, new names are encoded on
+ * every line. Not thread safe.
+ */
+final class ReportWriter implements Closeable, Flushable {
+
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // Inventories have few distinct names; stop caching if that is not the case
+    static final int MAX_CACHED_NAMES = 4_096;
+
+    private static final byte[] SEPARATOR = {',', ' '};
+
+    // Characters written as single ASCII bytes, whatever the charset
+    private static final String ASCII_CHARACTERS = "-0123456789, ";
+
+    // Longest int: "-2147483648"
+    private static final int MAX_INT_LENGTH = 11;
+
+    // Exactly one of these is set
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+
+    private final Charset charset;
+    private final byte[] lineSeparator;
+    private final ByteBuffer buffer;
+    private final Map<String, byte[]> names = new HashMap<>();
+
+    // Items usually come grouped by name; skips the map lookup for repeats
+    private String lastName;
+    private byte[] lastNameBytes;
+
+    ReportWriter(OutputStream stream) {
+        this(stream, null, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    ReportWriter(OutputStream stream, Charset charset) {
+        this(stream, null, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    ReportWriter(WritableByteChannel channel) {
+        this(null, channel, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    ReportWriter(WritableByteChannel channel, Charset charset, int bufferSize) {
+        this(null, channel, charset, bufferSize);
+    }
+
+    private ReportWriter(OutputStream stream, WritableByteChannel channel, Charset charset, int bufferSize) {
+        if (bufferSize < MAX_INT_LENGTH + SEPARATOR.length) {
+            throw new IllegalArgumentException("bufferSize too small: " + bufferSize);
+        }
+        if (!Arrays.equals(ASCII_CHARACTERS.getBytes(charset), ASCII_CHARACTERS.getBytes(StandardCharsets.US_ASCII))) {
+            throw new IllegalArgumentException("Digits and separators are not ASCII in " + charset);
+        }
+        this.stream = stream;
+        this.channel = channel;
+        this.charset = charset;
+        this.lineSeparator = System.lineSeparator().getBytes(charset);
+        // Heap buffer: its array can be handed to an OutputStream directly
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Writes one "name, sellIn, quality" line.
+     */
+    void write(Item item) throws IOException {
+        put(nameBytes(item.name));
+        put(SEPARATOR);
+        putInt(item.sellIn);
+        put(SEPARATOR);
+        putInt(item.quality);
+        put(lineSeparator);
+    }
+
+    /**
+     * Writes one line per item.
+     */
+    void writeAll(Item[] items) throws IOException {
+        for (Item item : items) {
+            write(item);
+        }
+    }
+
+    /**
+     * Writes any other text (headers, markers) followed by a line
+     * separator. The text is encoded on every call.
+     */
+    void writeLine(String text) throws IOException {
+        put(text.getBytes(charset));
+        put(lineSeparator);
+    }
+
+    /**
+     * Writes an empty line.
+     */
+    void newLine() throws IOException {
+        put(lineSeparator);
+    }
+
+    /**
+     * Writes the buffered bytes out, and flushes the stream if there is one.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (stream != null) {
+            stream.flush();
+        }
+    }
+
+    /**
+     * Flushes, then closes the underlying stream or channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (stream != null) {
+                stream.close();
+            } else {
+                channel.close();
+            }
+        }
+    }
+
+    private byte[] nameBytes(String name) {
+        if (name == lastName && name != null) {
+            return lastNameBytes;
+        }
+        // Same text as the "+" concatenation in Item.toString()
+        String text = String.valueOf(name);
+        byte[] bytes = names.get(text);
+        if (bytes == null) {
+            bytes = text.getBytes(charset);
+            if (names.size() < MAX_CACHED_NAMES) {
+                names.put(text, bytes);
+            }
+        }
+        lastName = name;
+        lastNameBytes = bytes;
+        return bytes;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            drain();
+            if (bytes.length > buffer.capacity()) {
+                // Longer than the whole buffer: write it straight through
+                writeOut(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    /*
+     * Decimal digits of value, as Integer.toString would write them.
+     * Works on the negative value so Integer.MIN_VALUE needs no special case.
+     */
+    private void putInt(int value) throws IOException {
+        if (buffer.remaining() < MAX_INT_LENGTH) {
+            drain();
+        }
+        byte[] array = buffer.array();
+        int start = buffer.arrayOffset() + buffer.position();
+        int negative = value < 0 ? value : -value;
+        int length = value < 0 ? 2 : 1;
+        for (int rest = negative / 10; rest != 0; rest /= 10) {
+            length++;
+        }
+        int position = start + length;
+        do {
+            array[--position] = (byte) ('0' - negative % 10);
+            negative /= 10;
+        } while (negative != 0);
+        if (value < 0) {
+            array[start] = '-';
+        }
+        buffer.position(buffer.position() + length);
+    }
+
+    private void drain() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        writeOut(buffer);
+        buffer.clear();
+    }
+
+    private void writeOut(ByteBuffer bytes) throws IOException {
+        if (stream != null) {
+            stream.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+            return;
+        }
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+
+/**
+ * RuleBasedGildedRose updates items using rules registered in a RuleBook
+ * instead of the hard-coded if/else chains in GildedRose.
+
+ * With RuleBook.standard() the results are identical to GildedRose.
+ * New item types are added by registering another ItemRule; the update
+ * loop itself never changes.
+
+ * WHY a table and not one object per category:
+ * calling a different rule implementation for each item would make the
+ * call site in the loop megamorphic once there are more than two rule
+ * classes. Here each item only carries a rule id, and the loop reads
+ * the rule's fields from the RuleBook arrays, so the cost per item is
+ * the same for 4 or 64 registered rules.
+ */
+class RuleBasedGildedRose {
+
+    // Collection of items managed by the system
+    Item[] items;
+
+    private final RuleBook rules;
+
+    /*
+     * Rule id cache, one slot per item (same idea as the category
+     * cache in GildedRose: re-resolved when Item.name is replaced).
+     * Cleared when rules are registered after it was filled.
+     */
+    private String[] resolvedNames = new String[0];
+    private int[] ruleIds = new int[0];
+    private int resolvedVersion;
+
+    public RuleBasedGildedRose(Item[] items, RuleBook rules) {
+        this.items = items;
+        this.rules = rules;
+    }
+
+    /**
+     * Main update method executed once per day.
+     * Same ORDER OF OPERATIONS as GildedRose.updateQuality().
+     */
+    public void updateQuality() {
+        if (ruleIds.length != items.length) {
+            resolvedNames = new String[items.length];
+            ruleIds = new int[items.length];
+        } else if (resolvedVersion != rules.version()) {
+            Arrays.fill(resolvedNames, null);
+        }
+        resolvedVersion = rules.version();
+
+        // Local copies of the table columns for the loop
+        final boolean[] legendary = rules.legendary;
+        final int[] qualityChange = rules.qualityChange;
+        final int[] tierStart = rules.tierStart;
+        final int[] tierDays = rules.tierDays;
+        final int[] tierBonus = rules.tierBonus;
+        final boolean[] dropsToZero = rules.dropsToZeroWhenExpired;
+        final int[] expiredQualityChange = rules.expiredQualityChange;
+
+        for (int i = 0; i < items.length; i++) {
+            Item item = items[i];
+            int r = ruleIdOf(i, item);
+            if (legendary[r]) {
+                continue;
+            }
+
+            // Step 1: before expiry, base change plus matching tiers
+            int change = qualityChange[r];
+            for (int t = tierStart[r]; t < tierStart[r + 1]; t++) {
+                if (item.sellIn <= tierDays[t]) {
+                    change += tierBonus[t];
+                }
+            }
+            int quality = applyChange(item.quality, change);
+
+            // Step 2: sellIn
+            int sellIn = item.sellIn - 1;
+
+            // Step 3: after expiry
+            if (sellIn < 0) {
+                quality = dropsToZero[r] ? 0 : applyChange(quality, expiredQualityChange[r]);
+            }
+
+            item.sellIn = sellIn;
+            item.quality = quality;
+        }
+    }
+
+    private int ruleIdOf(int index, Item item) {
+        if (resolvedNames[index] != item.name) {
+            ruleIds[index] = rules.ruleIdOf(item.name);
+            resolvedNames[index] = item.name;
+        }
+        return ruleIds[index];
+    }
+
+    /**
+     * Moves quality one step at a time towards the 0 / 50 limits.
+     */
+    private static int applyChange(int quality, int change) {
+        if (change > 0) {
+            return ColumnarInventory.increase(quality, change);
+        }
+        if (change < 0) {
+            return ColumnarInventory.decrease(quality, -change);
+        }
+        return quality;
+    }
+}
@@ -0,0 +1,142 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RuleBook maps item names to ItemRules and compiles them into a
+ * dense dispatch table: every registered rule gets a small integer id,
+ * and each rule field is stored in its own array indexed by that id.
+
+ * Name matching, in order:
+ * 1. Exact names registered with forName()
+ * 2. Name fragments registered with forNameContaining(), in
+ *    registration order (like the "Conjured" check in GildedRose)
+ * 3. The default rule
+ */
+final class RuleBook {
+
+    // Dense dispatch table, one slot per rule id
+    private final List<ItemRule> rules = new ArrayList<>();
+
+    private final Map<String, Integer> exactNames = new HashMap<>();
+    private final List<String> fragments = new ArrayList<>();
+    private final List<Integer> fragmentRuleIds = new ArrayList<>();
+    private final int defaultRuleId;
+
+    // Bumped on every registration, so engines know cached rule ids are stale
+    private int version;
+
+    // Compiled columns (rebuilt when a rule is registered)
+    boolean[] legendary;
+    int[] qualityChange;
+    int[] tierStart;
+    int[] tierDays;
+    int[] tierBonus;
+    boolean[] dropsToZeroWhenExpired;
+    int[] expiredQualityChange;
+
+    RuleBook(ItemRule defaultRule) {
+        this.defaultRuleId = add(defaultRule);
+    }
+
+    /**
+     * The rules implemented by GildedRose.
+     */
+    static RuleBook standard() {
+        return new RuleBook(ItemRule.NORMAL)
+            .forName("Aged Brie", ItemRule.AGED_BRIE)
+            .forName("Backstage passes to a TAFKAL80ETC concert", ItemRule.BACKSTAGE_PASS)
+            .forName("Sulfuras, Hand of Ragnaros", ItemRule.LEGENDARY)
+            .forNameContaining("Conjured", ItemRule.CONJURED);
+    }
+
+    RuleBook forName(String name, ItemRule rule) {
+        exactNames.put(name, add(rule));
+        version++;
+        return this;
+    }
+
+    RuleBook forNameContaining(String fragment, ItemRule rule) {
+        fragments.add(fragment);
+        fragmentRuleIds.add(add(rule));
+        version++;
+        return this;
+    }
+
+    /**
+     * Changes whenever a name mapping is registered. Rule ids resolved
+     * under an older version may no longer be the right ones.
+     */
+    int version() {
+        return version;
+    }
+
+    /**
+     * Rule id for a name (see class comment for matching order).
+     */
+    int ruleIdOf(String name) {
+        Integer id = exactNames.get(name);
+        if (id != null) {
+            return id;
+        }
+        for (int i = 0; i < fragments.size(); i++) {
+            if (name.contains(fragments.get(i))) {
+                return fragmentRuleIds.get(i);
+            }
+        }
+        return defaultRuleId;
+    }
+
+    int ruleCount() {
+        return rules.size();
+    }
+
+    private int add(ItemRule rule) {
+        int id = rules.indexOf(rule);
+        if (id < 0) {
+            id = rules.size();
+            rules.add(rule);
+            compile();
+        }
+        return id;
+    }
+
+    /**
+     * Flattens the rules into the column arrays used by the update loop.
+     * Tier entries of rule r are tierDays/tierBonus[tierStart[r] .. tierStart[r + 1]).
+     */
+    private void compile() {
+        int count = rules.size();
+        legendary = new boolean[count];
+        qualityChange = new int[count];
+        dropsToZeroWhenExpired = new boolean[count];
+        expiredQualityChange = new int[count];
+        tierStart = new int[count + 1];
+
+        int tiers = 0;
+        for (ItemRule rule : rules) {
+            tiers += rule.tierDays.length;
+        }
+        tierDays = new int[tiers];
+        tierBonus = new int[tiers];
+
+        int tier = 0;
+        for (int r = 0; r < count; r++) {
+            ItemRule rule = rules.get(r);
+            legendary[r] = rule.legendary;
+            qualityChange[r] = rule.qualityChange;
+            dropsToZeroWhenExpired[r] = rule.dropsToZeroWhenExpired;
+            expiredQualityChange[r] = rule.expiredQualityChange;
+            tierStart[r] = tier;
+            for (int t = 0; t < rule.tierDays.length; t++) {
+                tierDays[tier] = rule.tierDays[t];
+                tierBonus[tier] = rule.tierBonus[t];
+                tier++;
+            }
+        }
+        tierStart[count] = tier;
+    }
+}
@@ -0,0 +1,193 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ShardedInventoryService runs the daily update for many shops.
+
+ * Shops are assigned to a fixed number of shards by shop id. Each shard
+ * owns one GildedRose over the items of all its shops, so a tick is one
+ * task per shard instead of one per shop. Shard tasks run on the given
+ * executor (a bounded pool), and the rules are the unchanged GildedRose
+ * rules.
+
+ * Every shard has a time budget per tick. A tick always runs to
+ * completion (stopping half way would leave a shard with half-updated
+ * items), but a tick that takes longer than the budget is counted as an
+ * overrun in the shard's ShardStats, next to its latency histogram.
+ */
+final class ShardedInventoryService {
+
+    private final Shard[] shards;
+    private final ExecutorService executor;
+    private final long tickBudgetNanos;
+
+    /**
+     * @param shardCount number of shards to spread shops over
+     * @param executor   runs shard ticks (e.g. Executors.newFixedThreadPool)
+     * @param tickBudget time budget per shard tick
+     */
+    ShardedInventoryService(int shardCount, ExecutorService executor, long tickBudget, TimeUnit unit) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive: " + shardCount);
+        }
+        this.shards = new Shard[shardCount];
+        for (int s = 0; s < shardCount; s++) {
+            shards[s] = new Shard(s);
+        }
+        this.executor = executor;
+        this.tickBudgetNanos = unit.toNanos(tickBudget);
+    }
+
+    /**
+     * Adds a shop's items to its shard. Adding the same shop again
+     * appends to its existing items.
+     */
+    void addShop(String shopId, Item[] items) {
+        shardFor(shopId).add(shopId, items);
+    }
+
+    /**
+     * The items of one shop (the same Item objects that are updated).
+     */
+    Item[] items(String shopId) {
+        return shardFor(shopId).items(shopId);
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    ShardStats stats(int shard) {
+        return shards[shard].stats;
+    }
+
+    int shardOf(String shopId) {
+        return Math.floorMod(shopId.hashCode(), shards.length);
+    }
+
+    /**
+     * Runs one daily update on every shard and waits for all of them.
+     */
+    void updateQuality() throws InterruptedException {
+        List<Callable<Void>> ticks = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            ticks.add(shard::tick);
+        }
+        for (Future<Void> done : executor.invokeAll(ticks)) {
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Shard tick failed", e.getCause());
+            }
+        }
+    }
+
+    private Shard shardFor(String shopId) {
+        return shards[shardOf(shopId)];
+    }
+
+    /**
+     * Per-shard counters: items, ticks, latency and budget overruns.
+     */
+    static final class ShardStats {
+
+        private final LatencyHistogram tickLatency = new LatencyHistogram();
+        private volatile int items;
+        private volatile long ticks;
+        private volatile long overruns;
+
+        int items() {
+            return items;
+        }
+
+        long ticks() {
+            return ticks;
+        }
+
+        long overruns() {
+            return overruns;
+        }
+
+        LatencyHistogram tickLatency() {
+            return tickLatency;
+        }
+    }
+
+    /**
+     * One shard: the shops assigned to it and a GildedRose over all
+     * their items. Guarded by its own lock, so adding a shop never
+     * races with that shard's tick.
+     */
+    private final class Shard {
+
+        private final int id;
+        private final ShardStats stats = new ShardStats();
+        private final Map<String, List<Item>> shops = new HashMap<>();
+        private final GildedRose app = new GildedRose(new Item[0]);
+        private boolean dirty;
+
+        Shard(int id) {
+            this.id = id;
+        }
+
+        synchronized void add(String shopId, Item[] items) {
+            List<Item> shop = shops.get(shopId);
+            if (shop == null) {
+                shop = new ArrayList<>();
+                shops.put(shopId, shop);
+            }
+            for (Item item : items) {
+                shop.add(item);
+            }
+            dirty = true;
+        }
+
+        synchronized Item[] items(String shopId) {
+            List<Item> shop = shops.get(shopId);
+            return shop == null ? new Item[0] : shop.toArray(new Item[0]);
+        }
+
+        synchronized Void tick() {
+            if (dirty) {
+                rebuild();
+            }
+            long start = System.nanoTime();
+            app.updateQuality();
+            long elapsed = System.nanoTime() - start;
+
+            stats.tickLatency.record(elapsed);
+            stats.ticks++;
+            if (elapsed > tickBudgetNanos) {
+                stats.overruns++;
+            }
+            return null;
+        }
+
+        /**
+         * Flattens the shops into the array the shard's GildedRose updates.
+         */
+        private void rebuild() {
+            List<Item> all = new ArrayList<>();
+            for (List<Item> shop : shops.values()) {
+                all.addAll(shop);
+            }
+            app.items = all.toArray(new Item[0]);
+            stats.items = all.size();
+            dirty = false;
+        }
+
+        @Override
+        public String toString() {
+            return "shard " + id;
+        }
+    }
+}
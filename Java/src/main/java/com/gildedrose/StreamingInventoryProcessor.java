@@ -0,0 +1,108 @@
+package com.gildedrose;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * StreamingInventoryProcessor updates inventories that are too
+ * large to hold in memory as a single Item[].
+
+ * Items are read in fixed-size chunks of "name, sellIn, quality"
+ * lines, advanced with the normal GildedRose rules and written out
+ * before the next chunk is read. The chunk (and its Item objects) is
+ * reused, so memory use depends on the chunk size, not the file size.
+ */
+final class StreamingInventoryProcessor {
+
+    static final int DEFAULT_CHUNK_SIZE = 8_192;
+
+    // Buffer size for the reader and writer (characters)
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final int chunkSize;
+    private final int days;
+
+    /**
+     * @param chunkSize items held in memory at a time
+     * @param days      days to advance every item (1 = one daily update)
+     */
+    StreamingInventoryProcessor(int chunkSize, int days) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (days < 0) {
+            throw new IllegalArgumentException("days must not be negative: " + days);
+        }
+        this.chunkSize = chunkSize;
+        this.days = days;
+    }
+
+    /**
+     * Processes a file into another file (both UTF-8).
+     *
+     * @return number of items processed
+     */
+    long process(Path input, Path output) throws IOException {
+        try (Reader in = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            return process(in, out);
+        }
+    }
+
+    /**
+     * Reads every item line from in and writes the updated items to out.
+     * Blank lines are skipped. The writer is flushed but not closed.
+     *
+     * @return number of items processed
+     */
+    long process(Reader in, Writer out) throws IOException {
+        BufferedReader reader = new BufferedReader(in, IO_BUFFER_SIZE);
+        BufferedWriter writer = new BufferedWriter(out, IO_BUFFER_SIZE);
+
+        Item[] chunk = new Item[chunkSize];
+        for (int i = 0; i < chunkSize; i++) {
+            chunk[i] = new Item(null, 0, 0);
+        }
+        GildedRose app = new GildedRose(chunk);
+
+        long total = 0;
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            ItemLineFormat.parseInto(line, chunk[count++]);
+            if (count == chunkSize) {
+                updateAndWrite(app, writer);
+                total += count;
+                count = 0;
+            }
+        }
+
+        // Last, partially filled chunk
+        if (count > 0) {
+            app.items = Arrays.copyOf(chunk, count);
+            updateAndWrite(app, writer);
+            total += count;
+        }
+
+        writer.flush();
+        return total;
+    }
+
+    private void updateAndWrite(GildedRose app, BufferedWriter writer) throws IOException {
+        app.advance(days);
+        for (Item item : app.items) {
+            writer.write(item.toString());
+            writer.newLine();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Blocking client for TickServer.
+
+ * send() and receive() are separate, so callers can pipeline:
+ * send several batches, then receive the responses in the same order.
+ * call() does both for a single batch. Not thread safe.
+ */
+final class TickClient implements Closeable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+    private ByteBuffer responseBuffer = ByteBuffer.allocate(64 * 1024);
+    private int nextRequestId;
+
+    private TickClient(SocketChannel channel) {
+        this.channel = channel;
+    }
+
+    static TickClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        return new TickClient(channel);
+    }
+
+    /**
+     * Sends a batch to be moved forward by days, returning its request id.
+     */
+    int send(Item[] items, int days) throws IOException {
+        int requestId = nextRequestId++;
+        ByteBuffer frame = TickProtocol.encodeRequest(requestId, days, items);
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+        return requestId;
+    }
+
+    /**
+     * Reads the next response and writes its sellIn / quality values
+     * into items (the batch that was sent, in the same order).
+     * Returns the response's request id.
+     */
+    int receive(Item[] items) throws IOException {
+        lengthBuffer.clear();
+        readFully(lengthBuffer);
+        int length = lengthBuffer.getInt(0);
+        if (length < 8 || length > TickProtocol.MAX_FRAME_SIZE) {
+            throw new IOException("Bad response length: " + length);
+        }
+        if (responseBuffer.capacity() < length) {
+            responseBuffer = ByteBuffer.allocate(length);
+        }
+        responseBuffer.clear();
+        responseBuffer.limit(length);
+        readFully(responseBuffer);
+        responseBuffer.flip();
+
+        int requestId = responseBuffer.getInt();
+        int status = responseBuffer.getInt();
+        if (status != TickProtocol.STATUS_OK) {
+            byte[] message = new byte[responseBuffer.getShort() & 0xFFFF];
+            responseBuffer.get(message);
+            throw new IOException("Request " + requestId + " failed: " + new String(message, StandardCharsets.UTF_8));
+        }
+        int count = responseBuffer.getInt();
+        if (count != items.length) {
+            throw new IOException("Expected " + items.length + " items but got " + count);
+        }
+        for (Item item : items) {
+            item.sellIn = responseBuffer.getInt();
+            item.quality = responseBuffer.getInt();
+        }
+        return requestId;
+    }
+
+    /**
+     * Sends one batch and waits for its result.
+     */
+    void call(Item[] items, int days) throws IOException {
+        send(items, days);
+        receive(items);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("TickServer closed the connection");
+            }
+        }
+    }
+}
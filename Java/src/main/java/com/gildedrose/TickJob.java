@@ -0,0 +1,123 @@
+package com.gildedrose;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TickJob is the short-lived command line entry point: read an
+ * inventory, run some days, print the result, exit.
+
+ * Usage:
+ *   TickJob [days] [inventory file]   reads "name, sellIn, quality" lines
+ *                                     (stdin when no file is given)
+ *   TickJob --warmup                  runs the warm-up profile only
+
+ * STARTUP:
+ * For small inventories most of a run is JVM startup and class
+ * loading. The warm-up profile touches the same classes and code paths
+ * as a real run (parsing, every item category, formatting), so it can
+ * be used to record an AppCDS archive of them once:
+ *   java -XX:ArchiveClassesAtExit=gildedrose.jsa -cp <jar> com.gildedrose.TickJob --warmup
+ * and later runs start from that archive:
+ *   java -XX:SharedArchiveFile=gildedrose.jsa -Xshare:on -cp <jar> com.gildedrose.TickJob 30 inventory.txt
+ * (JDK 13+; the classes must come from a jar, not a classes directory.
+ * Without -Xshare:on an archive that no longer matches the jar is
+ * ignored without a warning and the run starts at normal speed.)
+
+ * With -Dgildedrose.markFirstTick=true a "#first-tick" line is printed
+ * and flushed right after the first day, so StartupBenchmark can time
+ * startup separately from the rest of the run.
+ */
+public final class TickJob {
+
+    static final String FIRST_TICK_MARKER = "#first-tick";
+
+    private TickJob() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--warmup")) {
+            warmUp();
+            return;
+        }
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        boolean markFirstTick = Boolean.getBoolean("gildedrose.markFirstTick");
+
+        BufferedReader reader = args.length > 1
+            ? Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)
+            : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        ReportWriter out = new ReportWriter(System.out);
+        try {
+            run(reader, out, days, markFirstTick);
+        } finally {
+            reader.close();
+            out.flush();
+        }
+    }
+
+    /**
+     * Reads the inventory, runs the days and writes the final items.
+     */
+    static void run(BufferedReader reader, ReportWriter out, int days, boolean markFirstTick) throws IOException {
+        Item[] items = read(reader);
+        GildedRose app = new GildedRose(items);
+        for (int day = 0; day < days; day++) {
+            app.updateQuality();
+            if (day == 0 && markFirstTick) {
+                out.writeLine(FIRST_TICK_MARKER);
+                out.flush();
+            }
+        }
+        out.writeAll(items);
+    }
+
+    /**
+     * Warm-up profile: one run over an inventory with every category
+     * on both sides of each rule boundary, through the same read /
+     * update / write path as main().
+     */
+    static void warmUp() throws IOException {
+        String[] names = {
+            "+5 Dexterity Vest", "Aged Brie", "Elixir of the Mongoose", "Sulfuras, Hand of Ragnaros",
+            "Backstage passes to a TAFKAL80ETC concert", "Conjured Mana Cake"
+        };
+        int[] sellIns = {-1, 0, 1, 5, 6, 10, 11, 15};
+        int[] qualities = {0, 1, 49, 50, 80};
+
+        StringWriter inventory = new StringWriter();
+        for (String name : names) {
+            for (int sellIn : sellIns) {
+                for (int quality : qualities) {
+                    inventory.write(new Item(name, sellIn, quality).toString());
+                    inventory.write(System.lineSeparator());
+                }
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportWriter out = new ReportWriter(bytes);
+        run(new BufferedReader(new StringReader(inventory.toString())), out, 30, true);
+        out.flush();
+        String report = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        new GildedRose(read(new BufferedReader(new StringReader(report)))).advance(30);
+    }
+
+    private static Item[] read(BufferedReader reader) throws IOException {
+        List<Item> items = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                items.add(ItemLineFormat.parse(line));
+            }
+        }
+        return items.toArray(new Item[0]);
+    }
+}
@@ -0,0 +1,146 @@
+package com.gildedrose;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary protocol of TickServer. Every message is a frame:
+ *   length (4)   number of bytes that follow
+ *   payload
+
+ * REQUEST payload:
+ *   request id (4), days (4), item count (4),
+ *   then per item: name length (2), UTF-8 name, sellIn (4), quality (4)
+
+ * RESPONSE payload:
+ *   request id (4), status (4), then
+ *   OK:    item count (4), per item: sellIn (4), quality (4)
+ *   ERROR: message length (2), UTF-8 message
+
+ * Responses come back in request order on each connection, so a
+ * client can send many requests before reading any (pipelining).
+ * Names are not sent back: the caller already has them, in order.
+ * All values are big-endian, so any language can speak it.
+ */
+final class TickProtocol {
+
+    static final int STATUS_OK = 0;
+    static final int STATUS_ERROR = 1;
+
+    // Frames larger than this are rejected and the connection closed
+    static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+    static final int REQUEST_HEADER_SIZE = 12;
+    static final int RESPONSE_HEADER_SIZE = 12;
+    static final int RESPONSE_ITEM_SIZE = 8;
+
+    private TickProtocol() {
+    }
+
+    /**
+     * Encodes a request frame (length prefix included).
+     */
+    static ByteBuffer encodeRequest(int requestId, int days, Item[] items) {
+        byte[][] names = new byte[items.length][];
+        int length = REQUEST_HEADER_SIZE;
+        for (int i = 0; i < items.length; i++) {
+            names[i] = nameBytes(items[i].name);
+            length += 2 + names[i].length + 8;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(4 + length);
+        frame.putInt(length);
+        frame.putInt(requestId);
+        frame.putInt(days);
+        frame.putInt(items.length);
+        for (int i = 0; i < items.length; i++) {
+            frame.putShort((short) names[i].length);
+            frame.put(names[i]);
+            frame.putInt(items[i].sellIn);
+            frame.putInt(items[i].quality);
+        }
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * Decodes the items of a request payload positioned after its
+     * header. Names that repeat the previous item's are shared.
+     */
+    static Item[] decodeItems(ByteBuffer payload, int count) {
+        Item[] items = new Item[count];
+        byte[] lastBytes = new byte[0];
+        String lastName = "";
+        for (int i = 0; i < count; i++) {
+            int length = payload.getShort() & 0xFFFF;
+            String name;
+            if (length == lastBytes.length && sameBytes(payload, lastBytes)) {
+                payload.position(payload.position() + length);
+                name = lastName;
+            } else {
+                byte[] bytes = new byte[length];
+                payload.get(bytes);
+                name = new String(bytes, StandardCharsets.UTF_8);
+                lastBytes = bytes;
+                lastName = name;
+            }
+            items[i] = new Item(name, payload.getInt(), payload.getInt());
+        }
+        return items;
+    }
+
+    /**
+     * Encodes an OK response frame (length prefix included).
+     */
+    static ByteBuffer encodeResponse(int requestId, Item[] items) {
+        int length = RESPONSE_HEADER_SIZE + items.length * RESPONSE_ITEM_SIZE;
+        ByteBuffer frame = ByteBuffer.allocate(4 + length);
+        frame.putInt(length);
+        frame.putInt(requestId);
+        frame.putInt(STATUS_OK);
+        frame.putInt(items.length);
+        for (Item item : items) {
+            frame.putInt(item.sellIn);
+            frame.putInt(item.quality);
+        }
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * Encodes an ERROR response frame (length prefix included).
+     */
+    static ByteBuffer encodeError(int requestId, String message) {
+        String text = message == null ? "error" : message;
+        byte[] bytes = nameBytes(text.length() > 1_000 ? text.substring(0, 1_000) : text);
+        int length = 8 + 2 + bytes.length;
+        ByteBuffer frame = ByteBuffer.allocate(4 + length);
+        frame.putInt(length);
+        frame.putInt(requestId);
+        frame.putInt(STATUS_ERROR);
+        frame.putShort((short) bytes.length);
+        frame.put(bytes);
+        frame.flip();
+        return frame;
+    }
+
+    /*
+     * UTF-8 bytes of a name, which must fit the 2-byte length field.
+     */
+    private static byte[] nameBytes(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Name longer than 65535 bytes");
+        }
+        return bytes;
+    }
+
+    private static boolean sameBytes(ByteBuffer buffer, byte[] bytes) {
+        int start = buffer.position();
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
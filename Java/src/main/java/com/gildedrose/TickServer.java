@@ -0,0 +1,295 @@
+package com.gildedrose;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * TickServer applies GildedRose rules to batches of items sent over
+ * a local TCP socket (see TickProtocol), so services in any language
+ * can use the rules without starting a JVM per run.
+
+ * - One thread runs a NIO Selector over all connections.
+ * - Every complete frame in the read buffer is handled in order, so
+ *   clients may pipeline requests on one connection.
+ * - A request with days = 1 is one updateQuality(); any other number
+ *   of days uses GildedRose.advance(days), whose cost does not grow
+ *   with days.
+ * - Responses are queued per connection and written as the socket
+ *   accepts them. A client that stops reading its responses is not
+ *   read from either, until the queue drains.
+
+ * It listens on the loopback address only. Unix domain sockets need
+ * Java 16 (UnixDomainSocketAddress), and this project targets Java 8.
+
+ * Usage: TickServer [port]
+ */
+public final class TickServer implements Closeable, Runnable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    // Stop reading from a client that has this many unread responses
+    private static final int MAX_PENDING_RESPONSES = 256;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7_878;
+        try (TickServer tickServer = TickServer.open(port)) {
+            System.out.println("TickServer listening on " + tickServer.address());
+            tickServer.run();
+        }
+    }
+
+    private TickServer(Selector selector, ServerSocketChannel server) {
+        this.selector = selector;
+        this.server = server;
+    }
+
+    /**
+     * Binds to the given loopback port (0 picks a free one).
+     */
+    static TickServer open(int port) throws IOException {
+        Selector selector = Selector.open();
+        ServerSocketChannel server = ServerSocketChannel.open();
+        try {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            return new TickServer(selector, server);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    InetSocketAddress address() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    /**
+     * Serves connections until close() is called.
+     */
+    @Override
+    public void run() {
+        try {
+            while (selector.isOpen()) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // close() was called
+        } catch (IOException e) {
+            throw new IllegalStateException("TickServer failed", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            server.close();
+        } finally {
+            for (SelectionKey key : keysOrEmpty()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+    }
+
+    private Collection<SelectionKey> keysOrEmpty() {
+        try {
+            return new ArrayList<>(selector.keys());
+        } catch (ClosedSelectorException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                connection.read(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.write(key);
+            }
+        } catch (IOException | CancelledKeyException e) {
+            // Peer went away, sent a bad frame, or close() was called: drop only this connection
+            key.cancel();
+            closeQuietly(key.channel());
+        }
+    }
+
+    /*
+     * Accepts one client. A client that cannot be set up (or an accept
+     * racing close()) is dropped without stopping the server.
+     */
+    private void accept() {
+        SocketChannel client = null;
+        try {
+            client = server.accept();
+            if (client != null) {
+                client.configureBlocking(false);
+                client.socket().setTcpNoDelay(true);
+                client.register(selector, SelectionKey.OP_READ, new Connection());
+            }
+        } catch (IOException | CancelledKeyException e) {
+            if (client != null) {
+                closeQuietly(client);
+            }
+        }
+    }
+
+    private static void closeQuietly(Closeable channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already dropping this connection; nothing else to do
+        }
+    }
+
+    /**
+     * Per-connection buffers: bytes read but not yet handled,
+     * and responses not yet written.
+     */
+    private static final class Connection {
+
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+
+        void read(SelectionKey key) throws IOException {
+            SocketChannel channel = (SocketChannel) key.channel();
+            int read = channel.read(in);
+            if (read < 0) {
+                key.cancel();
+                channel.close();
+                return;
+            }
+            handleFrames();
+            write(key);
+        }
+
+        /*
+         * Handles every complete frame in the buffer, growing the
+         * buffer when a frame is larger than what it can hold.
+         */
+        private void handleFrames() throws IOException {
+            in.flip();
+            while (in.remaining() >= 4) {
+                int length = in.getInt(in.position());
+                if (length < TickProtocol.REQUEST_HEADER_SIZE || length > TickProtocol.MAX_FRAME_SIZE) {
+                    throw new IOException("Bad frame length: " + length);
+                }
+                if (in.remaining() < 4 + length) {
+                    if (in.capacity() < 4 + length) {
+                        ByteBuffer larger = ByteBuffer.allocate(4 + length);
+                        larger.put(in);
+                        in = larger;
+                        return;
+                    }
+                    break;
+                }
+                in.getInt();
+                int end = in.position() + length;
+                ByteBuffer payload = in.duplicate();
+                payload.limit(end);
+                in.position(end);
+                out.add(respond(payload));
+            }
+            in.compact();
+            shrinkIfIdle();
+        }
+
+        /*
+         * A large frame grew the buffer (up to MAX_FRAME_SIZE); go back
+         * to READ_BUFFER_SIZE once what is left fits, so an idle
+         * connection does not keep the large buffer. A partial frame
+         * still needs room for all of it: while its length prefix says
+         * it is larger than READ_BUFFER_SIZE the buffer is kept, or it
+         * would be regrown on every read until the frame completes.
+         */
+        private void shrinkIfIdle() {
+            if (in.capacity() <= READ_BUFFER_SIZE) {
+                return;
+            }
+            int needed = in.position();
+            if (needed >= 4) {
+                // handleFrames() already checked this length
+                needed = Math.max(needed, 4 + in.getInt(0));
+            }
+            if (needed <= READ_BUFFER_SIZE) {
+                in.flip();
+                in = ByteBuffer.allocate(READ_BUFFER_SIZE).put(in);
+            }
+        }
+
+        private static ByteBuffer respond(ByteBuffer payload) {
+            int requestId = payload.getInt();
+            try {
+                int days = payload.getInt();
+                int count = payload.getInt();
+                if (days < 0 || count < 0) {
+                    return TickProtocol.encodeError(requestId, "days and item count must not be negative");
+                }
+                // Each item takes at least 10 bytes; reject counts the frame cannot hold
+                if (count > payload.remaining() / 10) {
+                    return TickProtocol.encodeError(requestId, "item count " + count + " does not fit the frame");
+                }
+                Item[] items = TickProtocol.decodeItems(payload, count);
+                GildedRose app = new GildedRose(items);
+                if (days == 1) {
+                    app.updateQuality();
+                } else {
+                    app.advance(days);
+                }
+                return TickProtocol.encodeResponse(requestId, items);
+            } catch (RuntimeException e) {
+                return TickProtocol.encodeError(requestId, e.toString());
+            }
+        }
+
+        void write(SelectionKey key) throws IOException {
+            SocketChannel channel = (SocketChannel) key.channel();
+            while (!out.isEmpty()) {
+                ByteBuffer next = out.peek();
+                channel.write(next);
+                if (next.hasRemaining()) {
+                    break;
+                }
+                out.poll();
+            }
+            int interest = out.size() < MAX_PENDING_RESPONSES ? SelectionKey.OP_READ : 0;
+            if (!out.isEmpty()) {
+                interest |= SelectionKey.OP_WRITE;
+            }
+            key.interestOps(interest);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.gildedrose;
+
+/**
+ * TransitionTable holds the next-day quality of every item state that
+ * normal rules can produce, so a daily update is one array lookup.
+
+ * WHY IT IS SMALL:
+ * - quality of updatable items stays within 0..50
+ * - sellIn only matters through four buckets:
+ *     <= 0     the item is expired after today's decrement
+ *     1..5     backstage passes gain 3
+ *     6..10    backstage passes gain 2
+ *     > 10     backstage passes gain 1
+ * so each category is a finite state machine with 4 x 51 states,
+ * 1,020 bytes for all five categories.
+
+ * The table is not written by hand: generate() runs GildedRose's own
+ * updateItem() once per state, and verify() checks it exhaustively
+ * against GildedRose. Qualities outside 0..50 (Sulfuras is usually 80)
+ * are not in the table and fall back to ColumnarInventory's rules, as
+ * does sellIn Integer.MIN_VALUE (its decrement wraps around, so the
+ * item never counts as expired).
+ */
+final class TransitionTable {
+
+    static final int MAX_QUALITY = 50;
+    static final int QUALITY_STATES = MAX_QUALITY + 1;
+    static final int SELL_IN_BUCKETS = 4;
+
+    // One sellIn value per bucket, used to generate the table
+    private static final int[] BUCKET_SAMPLES = { 0, 3, 8, 20 };
+
+    // Next-day quality by index(category, bucket, quality)
+    private final byte[] nextQuality;
+
+    // sellIn decrement per category id (0 for Sulfuras)
+    private final int[] ages;
+
+    private TransitionTable(byte[] nextQuality, int[] ages) {
+        this.nextQuality = nextQuality;
+        this.ages = ages;
+    }
+
+    /**
+     * Builds the table by running GildedRose on one item per state.
+     */
+    static TransitionTable generate() {
+        ItemCategory[] categories = ItemCategory.values();
+        byte[] nextQuality = new byte[categories.length * SELL_IN_BUCKETS * QUALITY_STATES];
+        int[] ages = new int[categories.length];
+        GildedRose rules = new GildedRose(new Item[0]);
+
+        for (ItemCategory category : categories) {
+            for (int bucket = 0; bucket < SELL_IN_BUCKETS; bucket++) {
+                for (int q = 0; q <= MAX_QUALITY; q++) {
+                    Item item = new Item(category.name(), BUCKET_SAMPLES[bucket], q);
+                    rules.updateItem(item, category);
+                    nextQuality[index(category.id(), bucket, q)] = (byte) item.quality;
+                    ages[category.id()] = BUCKET_SAMPLES[bucket] - item.sellIn;
+                }
+            }
+        }
+        return new TransitionTable(nextQuality, ages);
+    }
+
+    /**
+     * sellIn bucket, computed without branches.
+     * sellIn is clamped first so the subtractions cannot overflow.
+     */
+    static int bucket(int sellIn) {
+        int s = Math.max(sellIn, -1);
+        return ((-s) >>> 31) + ((5 - s) >>> 31) + ((10 - s) >>> 31);
+    }
+
+    static int index(byte category, int bucket, int quality) {
+        return (category * SELL_IN_BUCKETS + bucket) * QUALITY_STATES + quality;
+    }
+
+    /**
+     * Next-day quality of an in-table state.
+     */
+    int nextQuality(byte category, int sellIn, int quality) {
+        return nextQuality[index(category, bucket(sellIn), quality)];
+    }
+
+    /**
+     * Runs one day over the given columns, the same way
+     * ColumnarInventory.updateQuality() does.
+     */
+    void apply(byte[] category, int[] sellIn, int[] quality) {
+        for (int i = 0; i < sellIn.length; i++) {
+            byte c = category[i];
+            int s = sellIn[i];
+            int q = quality[i];
+            if (q >= 0 && q <= MAX_QUALITY && s != Integer.MIN_VALUE) {
+                quality[i] = nextQuality[index(c, bucket(s), q)];
+                sellIn[i] = s - ages[c];
+            } else {
+                applyOutOfTable(i, c, s, q, sellIn, quality);
+            }
+        }
+    }
+
+    /**
+     * Same as apply over a ColumnarInventory's columns.
+     */
+    void apply(ColumnarInventory inventory) {
+        apply(inventory.category, inventory.sellIn, inventory.quality);
+    }
+
+    /**
+     * Compares every in-table quality, for every category, with
+     * GildedRose.updateItem(): for each sellIn from -20 to 20 (all
+     * bucket edges) and for values out at the int limits.
+     * Throws IllegalStateException describing the first mismatch.
+     */
+    void verify() {
+        // Every value from -20 to 20, then the far ends of each outer bucket
+        int[] sellIns = new int[41 + 6];
+        for (int s = -20; s <= 20; s++) {
+            sellIns[s + 20] = s;
+        }
+        sellIns[41] = Integer.MIN_VALUE;
+        sellIns[42] = Integer.MIN_VALUE + 1;
+        sellIns[43] = -1_000_000;
+        sellIns[44] = 1_000_000;
+        sellIns[45] = Integer.MAX_VALUE - 1;
+        sellIns[46] = Integer.MAX_VALUE;
+        GildedRose rules = new GildedRose(new Item[0]);
+        byte[] category = new byte[1];
+        int[] sellIn = new int[1];
+        int[] quality = new int[1];
+
+        for (ItemCategory c : ItemCategory.values()) {
+            for (int s : sellIns) {
+                for (int q = 0; q <= MAX_QUALITY; q++) {
+                    Item expected = new Item(c.name(), s, q);
+                    rules.updateItem(expected, c);
+
+                    category[0] = c.id();
+                    sellIn[0] = s;
+                    quality[0] = q;
+                    apply(category, sellIn, quality);
+
+                    if (sellIn[0] != expected.sellIn || quality[0] != expected.quality) {
+                        throw new IllegalStateException("Transition table disagrees with GildedRose for "
+                            + c + " sellIn " + s + " quality " + q + ": expected "
+                            + expected.sellIn + "/" + expected.quality + " but got " + sellIn[0] + "/" + quality[0]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void applyOutOfTable(int i, byte c, int s, int q, int[] sellIn, int[] quality) {
+        if (c == ItemCategory.SULFURAS.id()) {
+            return;
+        }
+        q = ColumnarInventory.beforeExpiry(c, s, q);
+        s--;
+        if (s < 0) {
+            q = ColumnarInventory.afterExpiry(c, q);
+        }
+        sellIn[i] = s;
+        quality[i] = q;
+    }
+}
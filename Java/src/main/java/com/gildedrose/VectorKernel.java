@@ -0,0 +1,167 @@
+package com.gildedrose;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * VectorKernel applies a day of rules to ColumnarInventory's sellIn /
+ * quality columns as straight-line integer arithmetic, one lane per item.
+
+ * WHY:
+ * ColumnarInventory.updateQuality() branches on the category of every
+ * item, so the JIT has to compile it as a scalar loop. Here each
+ * category is turned, once, into per-lane masks and step sizes, and the
+ * loop body is only adds, shifts, min and max. HotSpot's C2 compiler can
+ * turn such a loop into SIMD instructions (superword auto-vectorization).
+
+ * The code targets Java 8, so the jdk.incubator.vector API is not
+ * available; auto-vectorization gives the same kind of lane-wise code
+ * without it. isSupported() is the runtime check: when the JVM cannot
+ * vectorize, ColumnarInventory keeps using its scalar loop.
+
+ * PER-LANE RULES (same results as GildedRose):
+ *   q = saturate(q, step + bonus * (within 10 days + within 5 days))
+ *   s = s - ages
+ *   expired = s < 0
+ *   q = saturate(q, expiredStep * expired)
+ *   q = 0 if expired and dropsToZero
+ * saturate(q, d) moves q by d without passing 0 or 50, and keeps a
+ * value that is already outside 0..50 (like increaseQuality /
+ * decreaseQuality applied d times).
+ */
+final class VectorKernel {
+
+    // Set to "true" or "false" to override isSupported()
+    static final String PROPERTY = "gildedrose.vectorKernel";
+
+    private static final boolean SUPPORTED = detectSupport();
+
+    // Quality change before expiry (backstage bonus not included)
+    private final int[] step;
+
+    // 1 for backstage passes, which gain extra quality near the concert
+    private final int[] bonus;
+
+    // 1 for items whose sellIn decreases (all but Sulfuras)
+    private final int[] ages;
+
+    // Extra quality change once expired
+    private final int[] expiredStep;
+
+    // 1 for items whose quality drops to 0 once expired
+    private final int[] dropsToZero;
+
+    private VectorKernel(int size) {
+        step = new int[size];
+        bonus = new int[size];
+        ages = new int[size];
+        expiredStep = new int[size];
+        dropsToZero = new int[size];
+    }
+
+    /**
+     * True if the running JVM auto-vectorizes loops like this one
+     * (HotSpot with C2 and UseSuperWord on), unless overridden with
+     * the gildedrose.vectorKernel system property.
+     */
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Builds the per-lane masks for a category column.
+     */
+    static VectorKernel forCategories(byte[] category) {
+        VectorKernel kernel = new VectorKernel(category.length);
+        for (int i = 0; i < category.length; i++) {
+            switch (ItemCategory.byId(category[i])) {
+                case AGED_BRIE:
+                    kernel.step[i] = 1;
+                    kernel.expiredStep[i] = 1;
+                    kernel.ages[i] = 1;
+                    break;
+                case BACKSTAGE_PASS:
+                    kernel.step[i] = 1;
+                    kernel.bonus[i] = 1;
+                    kernel.dropsToZero[i] = 1;
+                    kernel.ages[i] = 1;
+                    break;
+                case CONJURED:
+                    kernel.step[i] = -2;
+                    kernel.expiredStep[i] = -2;
+                    kernel.ages[i] = 1;
+                    break;
+                case SULFURAS:
+                    // All zero: legendary items never change
+                    break;
+                default:
+                    kernel.step[i] = -1;
+                    kernel.expiredStep[i] = -1;
+                    kernel.ages[i] = 1;
+                    break;
+            }
+        }
+        return kernel;
+    }
+
+    int size() {
+        return step.length;
+    }
+
+    /**
+     * Runs one day over the given columns (same length as the
+     * category column this kernel was built from).
+     */
+    void apply(int[] sellIn, int[] quality) {
+        if (sellIn.length != step.length || quality.length != step.length) {
+            throw new IllegalArgumentException(
+                "Expected " + step.length + " lanes but got " + sellIn.length + " / " + quality.length);
+        }
+        for (int i = 0; i < step.length; i++) {
+            int s = sellIn[i];
+            int q = quality[i];
+
+            // 1 when within 10 / 5 days; s is clamped first so s - 11 cannot overflow
+            int near = Math.max(s, -1);
+            int within10 = (near - 11) >>> 31;
+            int within5 = (near - 6) >>> 31;
+            q = saturate(q, step[i] + bonus[i] * (within10 + within5));
+
+            s -= ages[i];
+            int expired = s >>> 31;
+            q = saturate(q, expiredStep[i] * expired);
+
+            // All ones when the quality is kept, 0 when it drops to zero
+            q &= (expired & dropsToZero[i]) - 1;
+
+            sellIn[i] = s;
+            quality[i] = q;
+        }
+    }
+
+    /**
+     * Moves q by d, stopping at 50 going up and at 0 going down,
+     * without ever moving a value that is already past the limit.
+     * Both halves are no-ops for the other sign of d, so no branch
+     * on d is needed.
+     */
+    static int saturate(int q, int d) {
+        int up = Math.max(q, Math.min(50, q + Math.max(d, 0)));
+        return Math.min(up, Math.max(0, up + Math.min(d, 0)));
+    }
+
+    private static boolean detectSupport() {
+        String override = System.getProperty(PROPERTY);
+        if (override != null) {
+            return Boolean.parseBoolean(override);
+        }
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return hotSpot != null && Boolean.parseBoolean(hotSpot.getVMOption("UseSuperWord").getValue());
+        } catch (RuntimeException | LinkageError e) {
+            // Not HotSpot, or a VM built without C2
+            return false;
+        }
+    }
+}
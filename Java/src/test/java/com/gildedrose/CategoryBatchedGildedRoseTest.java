@@ -0,0 +1,93 @@
+package com.gildedrose;
+
+/*
+ * Tests for CategoryBatchedGildedRose.
+ *
+ * Items are updated one category at a time, but the array and its
+ * order stay the caller's, and every day must match GildedRose.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CategoryBatchedGildedRoseTest {
+
+    @Test
+    void matchesGildedRoseOnEveryDay() {
+        Item[] items = InventoryGenerator.randomItems(17L, 5_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        CategoryBatchedGildedRose app = new CategoryBatchedGildedRose(InventoryGenerator.copy(items));
+
+        for (int day = 0; day < 60; day++) {
+            reference.updateQuality();
+            app.updateQuality();
+            assertSameItems(reference.items, app.items, day);
+        }
+    }
+
+    @Test
+    void keepsTheCallersArrayAndOrder() {
+        Item vest = new Item("+5 Dexterity Vest", 10, 20);
+        Item brie = new Item("Aged Brie", 2, 0);
+        Item cake = new Item("Conjured Mana Cake", 3, 6);
+        Item[] items = {vest, brie, cake};
+        CategoryBatchedGildedRose app = new CategoryBatchedGildedRose(items);
+
+        app.updateQuality();
+
+        assertSame(items, app.items);
+        assertSame(vest, items[0]);
+        assertSame(brie, items[1]);
+        assertSame(cake, items[2]);
+        assertEquals(19, vest.quality);
+        assertEquals(1, brie.quality);
+        assertEquals(4, cake.quality);
+    }
+
+    @Test
+    void renamedItemsMoveToTheirNewBucket() {
+        // WHAT: An item renamed between ticks uses its new rules at once
+        // WHY: Buckets are kept across ticks and must follow name changes
+
+        Item item = new Item("Elixir of the Mongoose", 5, 10);
+        Item[] items = {item, new Item("Aged Brie", 5, 10)};
+        CategoryBatchedGildedRose app = new CategoryBatchedGildedRose(items);
+        assertEquals(1, app.bucketSize(ItemCategory.NORMAL));
+
+        item.name = "Aged Brie";
+        app.updateQuality();
+        assertEquals(11, item.quality);
+        assertEquals(0, app.bucketSize(ItemCategory.NORMAL));
+        assertEquals(2, app.bucketSize(ItemCategory.AGED_BRIE));
+
+        // Same name, new String instance: same bucket, same rules
+        item.name = new String("Aged Brie");
+        app.updateQuality();
+        assertEquals(12, item.quality);
+        assertEquals(2, app.bucketSize(ItemCategory.AGED_BRIE));
+    }
+
+    @Test
+    void replacedArrayIsReindexed() {
+        CategoryBatchedGildedRose app = new CategoryBatchedGildedRose(new Item[] {
+            new Item("Aged Brie", 5, 10)
+        });
+        Item[] replacement = {new Item("Sulfuras, Hand of Ragnaros", 0, 80), new Item("Conjured Mana Cake", 5, 10)};
+        app.items = replacement;
+
+        app.updateQuality();
+
+        assertEquals(80, replacement[0].quality);
+        assertEquals(8, replacement[1].quality);
+        assertEquals(0, app.bucketSize(ItemCategory.AGED_BRIE));
+    }
+
+    private static void assertSameItems(Item[] expected, Item[] actual, int day) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString(), "day " + day + ", item " + i);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.gildedrose;
+
+/*
+ * Tests for the change log written by GildedRose.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChangeLogTest {
+
+    @Test
+    void recordsOldAndNewValuesAndRuleFlags() {
+        Item[] items = new Item[] {
+            new Item("+5 Dexterity Vest", 5, 10),
+            new Item(InventoryGenerator.SULFURAS, 0, 80),
+            new Item(InventoryGenerator.BACKSTAGE_PASS, 0, 20),
+            new Item(InventoryGenerator.AGED_BRIE, 3, 50),
+            new Item("Elixir of the Mongoose", 0, 1) };
+        ChangeRecorder recorder = new ChangeRecorder();
+        ChangeLog log = new ChangeLog(recorder);
+
+        new GildedRose(items, null, log).updateQuality();
+
+        // Sulfuras did not change, so it has no entry
+        assertEquals(4, recorder.size());
+        assertEquals(0, recorder.item(0));
+        assertEquals(0, recorder.flags(0));
+        assertEquals(2, recorder.item(1));
+        assertEquals(ChangeLog.EXPIRED | ChangeLog.DROPPED_TO_ZERO, recorder.flags(1));
+        assertEquals(3, recorder.item(2));
+        assertEquals(ChangeLog.CLAMPED, recorder.flags(2));
+        assertEquals(4, recorder.item(3));
+        assertEquals(ChangeLog.EXPIRED | ChangeLog.CLAMPED, recorder.flags(3));
+        assertEquals(1, recorder.tick(0));
+    }
+
+    @Test
+    void flushesWhenBufferIsFull() {
+        Item[] items = InventoryGenerator.randomItems(151L, 100, InventoryGenerator.Mix.ALL_NORMAL);
+        int[] batches = new int[1];
+        int[] entries = new int[1];
+        ChangeLog log = new ChangeLog(batch -> {
+            batches[0]++;
+            entries[0] += batch.size();
+        }, 16);
+
+        new GildedRose(items, null, log).updateQuality();
+
+        assertEquals(7, batches[0]);
+        assertEquals(100, entries[0]);
+    }
+
+    @Test
+    void replayMatchesRunningTheTicks() {
+        Item[] items = InventoryGenerator.randomItems(152L, 5_000);
+        Item[] snapshot = InventoryGenerator.copy(items);
+        ChangeRecorder recorder = new ChangeRecorder();
+        GildedRose app = new GildedRose(items, null, new ChangeLog(recorder, 256));
+
+        for (int day = 0; day < 30; day++) {
+            app.updateQuality();
+        }
+        recorder.replayOnto(snapshot);
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(items[i].toString(), snapshot[i].toString());
+        }
+    }
+
+    @Test
+    void replayCanStopAtAnEarlierTick() {
+        Item[] items = InventoryGenerator.randomItems(153L, 1_000);
+        Item[] snapshot = InventoryGenerator.copy(items);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        ChangeRecorder recorder = new ChangeRecorder();
+        GildedRose app = new GildedRose(items, null, new ChangeLog(recorder));
+
+        for (int day = 0; day < 20; day++) {
+            app.updateQuality();
+        }
+        for (int day = 0; day < 12; day++) {
+            reference.updateQuality();
+        }
+        recorder.replayOnto(snapshot, 12);
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(reference.items[i].toString(), snapshot[i].toString());
+        }
+    }
+}
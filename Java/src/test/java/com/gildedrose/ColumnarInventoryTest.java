@@ -0,0 +1,86 @@
+package com.gildedrose;
+
+/*
+ * Differential tests for ColumnarInventory.
+ *
+ * PURPOSE:
+ * ColumnarInventory must apply exactly the same rules as GildedRose.
+ * Rather than restating every rule, these tests run both engines
+ * side by side on the same random inventories and compare results.
+ */
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class ColumnarInventoryTest {
+
+    @Test
+    void roundTripsItems() {
+        Item[] items = InventoryGenerator.randomItems(1L, 100);
+
+        Item[] copy = ColumnarInventory.fromItems(items).toItems();
+
+        for (int i = 0; i < items.length; i++) {
+            assertNotSame(items[i], copy[i]);
+            assertEquals(items[i].toString(), copy[i].toString());
+        }
+    }
+
+    @Test
+    void matchesGildedRoseOnRandomInventories() {
+        // WHAT: Runs both engines for 60 days on several seeds
+        // WHY: Covers every category through expiry and both quality limits
+
+        for (long seed = 0; seed < 20; seed++) {
+            Item[] items = InventoryGenerator.randomItems(seed, 500);
+            GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+            ColumnarInventory columnar = ColumnarInventory.fromItems(items);
+
+            for (int day = 0; day < 60; day++) {
+                reference.updateQuality();
+                columnar.updateQuality();
+                assertSameState(reference.items, columnar, seed, day);
+            }
+        }
+    }
+
+    @Test
+    void keepsOutOfRangeQualityLikeGildedRose() {
+        // WHAT: Qualities outside 0..50 are never clamped back into range
+        // WHY: GildedRose only stops increasing/decreasing, it does not clamp
+
+        Item[] items = new Item[] {
+            new Item("Aged Brie", 5, 60),
+            new Item("Elixir of the Mongoose", -3, -4),
+            new Item("Conjured Mana Cake", 2, 80)
+        };
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        ColumnarInventory columnar = ColumnarInventory.fromItems(items);
+
+        reference.updateQuality();
+        columnar.updateQuality();
+
+        assertSameState(reference.items, columnar, 0, 0);
+    }
+
+    @Test
+    void copyToWritesStateBackIntoItems() {
+        Item[] items = new Item[] { new Item("Aged Brie", 0, 10) };
+        ColumnarInventory columnar = ColumnarInventory.fromItems(items);
+
+        columnar.updateQuality();
+        columnar.copyTo(items);
+
+        assertEquals(-1, items[0].sellIn);
+        assertEquals(12, items[0].quality);
+    }
+
+    private static void assertSameState(Item[] expected, ColumnarInventory actual, long seed, int day) {
+        for (int i = 0; i < expected.length; i++) {
+            String where = "seed " + seed + ", day " + day + ", item " + i;
+            assertEquals(expected[i].sellIn, actual.sellIn[i], where);
+            assertEquals(expected[i].quality, actual.quality[i], where);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gildedrose;
+
+/*
+ * Tests for CompactInventory.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompactInventoryTest {
+
+    @Test
+    void packsNegativeAndLargeValues() {
+        long packed = CompactInventory.pack(-7, Integer.MIN_VALUE);
+
+        assertEquals(-7, CompactInventory.sellIn(packed));
+        assertEquals(Integer.MIN_VALUE, CompactInventory.quality(packed));
+    }
+
+    @Test
+    void storesEachNameOnce() {
+        Item[] items = InventoryGenerator.randomItems(71L, 10_000);
+
+        CompactInventory inventory = CompactInventory.fromItems(items);
+
+        assertEquals(7, inventory.distinctNames());
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(items[i].toString(), inventory.item(i).toString());
+        }
+    }
+
+    @Test
+    void updatesMatchGildedRose() {
+        Item[] items = InventoryGenerator.randomItems(72L, 2_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        CompactInventory inventory = CompactInventory.fromItems(items);
+
+        for (int day = 0; day < 40; day++) {
+            reference.updateQuality();
+            inventory.updateQuality();
+        }
+
+        Item[] actual = inventory.toItems();
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(reference.items[i].toString(), actual[i].toString());
+        }
+    }
+
+    @Test
+    void itemViewChangesAreStoredBack() {
+        CompactInventory inventory = CompactInventory.fromItems(new Item[] {
+            new Item("Elixir of the Mongoose", 5, 7)
+        });
+
+        inventory.withItem(0, item -> {
+            item.name = "Aged Brie";
+            item.quality = 30;
+        });
+
+        assertEquals("Aged Brie, 5, 30", inventory.item(0).toString());
+    }
+}
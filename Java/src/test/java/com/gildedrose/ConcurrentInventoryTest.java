@@ -0,0 +1,92 @@
+package com.gildedrose;
+
+/*
+ * Tests for ConcurrentInventory.
+ *
+ * Readers must always see a whole generation: never a mix of
+ * items from before and after a tick.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConcurrentInventoryTest {
+
+    @Test
+    void generationsMatchGildedRose() {
+        Item[] items = InventoryGenerator.randomItems(51L, 1_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        ConcurrentInventory inventory = new ConcurrentInventory(items);
+
+        for (int day = 0; day < 30; day++) {
+            reference.updateQuality();
+            inventory.updateQuality();
+        }
+
+        InventorySnapshot snapshot = inventory.snapshot();
+        assertEquals(30, snapshot.generation());
+        Item[] actual = snapshot.toItems();
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(reference.items[i].toString(), actual[i].toString());
+        }
+    }
+
+    @Test
+    void oldSnapshotsDoNotChange() {
+        ConcurrentInventory inventory = new ConcurrentInventory(new Item[] {
+            new Item("Elixir of the Mongoose", 5, 10)
+        });
+        InventorySnapshot before = inventory.snapshot();
+
+        inventory.updateQuality();
+
+        assertEquals(10, before.quality(0));
+        assertEquals(9, inventory.snapshot().quality(0));
+    }
+
+    @Test
+    void readersNeverSeeATornTick() throws InterruptedException {
+        // WHAT: Identical items, read while an updater keeps ticking
+        // WHY: In any consistent view all of them have the same state
+
+        Item[] items = new Item[10_000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item("Elixir of the Mongoose", 1_000_000, 50);
+        }
+        ConcurrentInventory inventory = new ConcurrentInventory(items);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> torn = new AtomicReference<>();
+
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                while (running.get()) {
+                    InventorySnapshot snapshot = inventory.snapshot();
+                    int sellIn = snapshot.sellIn(0);
+                    for (int i = 1; i < snapshot.size(); i++) {
+                        if (snapshot.sellIn(i) != sellIn) {
+                            torn.set("generation " + snapshot.generation() + ", item " + i);
+                        }
+                    }
+                }
+            });
+            readers[r].start();
+        }
+
+        for (int day = 0; day < 200; day++) {
+            inventory.updateQuality();
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(torn.get());
+        assertEquals(200, inventory.snapshot().generation());
+    }
+}
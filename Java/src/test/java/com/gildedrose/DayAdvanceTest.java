@@ -0,0 +1,93 @@
+package com.gildedrose;
+
+/*
+ * Property tests for GildedRose.advance(days).
+ *
+ * PROPERTY:
+ * For any item and any number of days N,
+ * advance(N) gives the same result as N calls to updateQuality().
+ *
+ * Inputs are drawn from a seeded Random so failures are reproducible.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DayAdvanceTest {
+
+    private static final String[] ALL_NAMES = {
+        "+5 Dexterity Vest",
+        "Conjured Mana Cake",
+        "Aged Brie",
+        "Backstage passes to a TAFKAL80ETC concert",
+        "Sulfuras, Hand of Ragnaros"
+    };
+
+    @Test
+    void advanceEqualsRepeatedUpdates_exhaustiveSmallRange() {
+        // WHAT: Every category, sellIn -3..15, quality -2..52, 0..25 days
+        // WHY: Covers the backstage tiers, expiry and both quality limits
+
+        for (String name : ALL_NAMES) {
+            for (int sellIn = -3; sellIn <= 15; sellIn++) {
+                for (int quality = -2; quality <= 52; quality++) {
+                    for (int days = 0; days <= 25; days++) {
+                        assertAdvanceMatches(new Item(name, sellIn, quality), days);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void advanceEqualsRepeatedUpdates_randomItems() {
+        Random random = new Random(2024L);
+
+        for (int run = 0; run < 2_000; run++) {
+            Item item = new Item(
+                ALL_NAMES[random.nextInt(ALL_NAMES.length)],
+                random.nextInt(400) - 100,
+                random.nextInt(120) - 10);
+            assertAdvanceMatches(item, random.nextInt(365));
+        }
+    }
+
+    @Test
+    void advanceEqualsRepeatedUpdates_wholeInventory() {
+        Item[] items = InventoryGenerator.randomItems(7L, 1_000);
+        GildedRose stepped = new GildedRose(InventoryGenerator.copy(items));
+        GildedRose advanced = new GildedRose(InventoryGenerator.copy(items));
+
+        for (int day = 0; day < 45; day++) {
+            stepped.updateQuality();
+        }
+        advanced.advance(45);
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(stepped.items[i].toString(), advanced.items[i].toString());
+        }
+    }
+
+    @Test
+    void negativeDaysAreRejected() {
+        GildedRose app = new GildedRose(new Item[0]);
+        assertThrows(IllegalArgumentException.class, () -> app.advance(-1));
+    }
+
+    private static void assertAdvanceMatches(Item item, int days) {
+        GildedRose stepped = new GildedRose(new Item[] { new Item(item.name, item.sellIn, item.quality) });
+        for (int day = 0; day < days; day++) {
+            stepped.updateQuality();
+        }
+
+        GildedRose advanced = new GildedRose(new Item[] { new Item(item.name, item.sellIn, item.quality) });
+        advanced.advance(days);
+
+        assertEquals(stepped.items[0].toString(), advanced.items[0].toString(),
+            item + " after " + days + " days");
+    }
+}
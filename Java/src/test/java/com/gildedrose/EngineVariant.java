@@ -0,0 +1,142 @@
+package com.gildedrose;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Every update engine that must behave like GildedRose.updateQuality().
+
+ * Benchmarks take this as a parameter and differential tests iterate
+ * over it, so a new engine only needs a new constant here to be
+ * measured and checked like the others.
+ */
+enum EngineVariant {
+
+    // Reference implementation
+    GILDED_ROSE {
+        @Override
+        Engine load(Item[] items) {
+            GildedRose app = new GildedRose(items);
+            return engine(app::updateQuality, () -> app.items);
+        }
+    },
+
+    // Fork/join updateQuality(ParallelismPolicy) on the common pool
+    PARALLEL {
+        @Override
+        Engine load(Item[] items) {
+            GildedRose app = new GildedRose(items);
+            ParallelismPolicy policy = ParallelismPolicy.of(ForkJoinPool.commonPool(), 0);
+            return engine(() -> app.updateQuality(policy), () -> app.items);
+        }
+    },
+
+    // Struct-of-arrays ColumnarInventory
+    COLUMNAR {
+        @Override
+        Engine load(Item[] items) {
+            ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+            return engine(inventory::updateQuality, inventory::toItems);
+        }
+    },
+
+    // ColumnarInventory with the branch-free VectorKernel
+    VECTOR {
+        @Override
+        Engine load(Item[] items) {
+            ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+            return engine(inventory::updateQualityVectorized, inventory::toItems);
+        }
+    },
+
+    // ColumnarInventory columns updated by TransitionTable lookups
+    TABLE {
+        @Override
+        Engine load(Item[] items) {
+            ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+            TransitionTable table = TransitionTable.generate();
+            return engine(() -> table.apply(inventory), inventory::toItems);
+        }
+    },
+
+    // Growable Inventory container, loaded in deliveries of 1,000
+    INVENTORY {
+        @Override
+        Engine load(Item[] items) {
+            Inventory inventory = new Inventory();
+            for (int from = 0; from < items.length; from += 1_000) {
+                inventory.addAll(Arrays.copyOfRange(items, from, Math.min(items.length, from + 1_000)));
+            }
+            return engine(inventory::updateQuality, inventory::toArray);
+        }
+    },
+
+    // Table-driven RuleBasedGildedRose with the standard RuleBook
+    RULE_BASED {
+        @Override
+        Engine load(Item[] items) {
+            RuleBasedGildedRose app = new RuleBasedGildedRose(items, RuleBook.standard());
+            return engine(app::updateQuality, () -> app.items);
+        }
+    },
+
+    // IncrementalGildedRose, skipping settled items
+    INCREMENTAL {
+        @Override
+        Engine load(Item[] items) {
+            IncrementalGildedRose app = new IncrementalGildedRose(items);
+            return engine(app::updateQuality, app::items);
+        }
+    },
+
+    // CompactInventory: name table plus packed sellIn/quality
+    COMPACT {
+        @Override
+        Engine load(Item[] items) {
+            CompactInventory inventory = CompactInventory.fromItems(items);
+            return engine(inventory::updateQuality, inventory::toItems);
+        }
+    },
+
+    // CategoryBatchedGildedRose: one specialized loop per category
+    CATEGORY_BATCHED {
+        @Override
+        Engine load(Item[] items) {
+            CategoryBatchedGildedRose app = new CategoryBatchedGildedRose(items);
+            return engine(app::updateQuality, () -> app.items);
+        }
+    };
+
+    /**
+     * Takes ownership of the items and prepares the engine.
+     */
+    abstract Engine load(Item[] items);
+
+    /**
+     * One loaded inventory that can be advanced by a day at a time.
+     */
+    interface Engine {
+
+        void tick();
+
+        /**
+         * Current state as Items (may be a fresh copy).
+         */
+        Item[] items();
+    }
+
+    private static Engine engine(Runnable tick, Supplier<Item[]> items) {
+        return new Engine() {
+            @Override
+            public void tick() {
+                tick.run();
+            }
+
+            @Override
+            public Item[] items() {
+                return items.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.gildedrose;
+
+/*
+ * Checks every EngineVariant against the reference GildedRose.
+ *
+ * PURPOSE:
+ * Any engine registered in EngineVariant is benchmarked as a drop-in
+ * replacement, so it must produce exactly the same inventory.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EngineVariantTest {
+
+    @Test
+    void everyVariantMatchesGildedRose() {
+        for (InventoryGenerator.Mix mix : InventoryGenerator.Mix.values()) {
+            Item[] items = InventoryGenerator.randomItems(mix.ordinal(), 2_000, mix);
+            GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+            for (int day = 0; day < 30; day++) {
+                reference.updateQuality();
+            }
+
+            for (EngineVariant variant : EngineVariant.values()) {
+                EngineVariant.Engine engine = variant.load(InventoryGenerator.copy(items));
+                for (int day = 0; day < 30; day++) {
+                    engine.tick();
+                }
+
+                Item[] actual = engine.items();
+                for (int i = 0; i < items.length; i++) {
+                    assertEquals(reference.items[i].toString(), actual[i].toString(),
+                        variant + " / " + mix + ", item " + i);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.gildedrose;
+
+/*
+ * Differential tests for GildedRose.updateQuality(ParallelismPolicy).
+ *
+ * PURPOSE:
+ * The parallel mode must give exactly the same results as the
+ * sequential updateQuality(), whatever the pool size or threshold.
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GildedRoseParallelTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void parallelRunMatchesSequentialRun() {
+        // WHAT: Large inventory split into many chunks
+        // WHY: Every chunk must apply the same rules as the sequential loop
+
+        ParallelismPolicy policy = ParallelismPolicy.of(pool, 0);
+        assertSameAsSequential(policy, 50_000, 40);
+    }
+
+    @Test
+    void smallInventoryFallsBackToSequentialPath() {
+        // WHAT: Inventory below the threshold
+        // WHY: Must still produce the normal results without forking
+
+        ParallelismPolicy policy = ParallelismPolicy.of(pool, 1_000);
+        assertSameAsSequential(policy, 10, 40);
+    }
+
+    private static void assertSameAsSequential(ParallelismPolicy policy, int size, int days) {
+        Item[] items = InventoryGenerator.randomItems(size, size);
+        GildedRose sequential = new GildedRose(InventoryGenerator.copy(items));
+        GildedRose parallel = new GildedRose(InventoryGenerator.copy(items));
+
+        for (int day = 0; day < days; day++) {
+            sequential.updateQuality();
+            parallel.updateQuality(policy);
+        }
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(sequential.items[i].toString(), parallel.items[i].toString(), "item " + i);
+        }
+    }
+}
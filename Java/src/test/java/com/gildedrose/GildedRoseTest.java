@@ -287,4 +287,49 @@ class GildedRoseTest {
         assertEquals(-1, app.items[0].sellIn);
     }
 
+    /* CATEGORY CACHE
+
+       Item names are classified once and cached.
+       Item.name is public, so the cache must notice renames.
+       */
+
+    @Test
+    void renamedItem_followsRulesOfItsNewName() {
+        // WHAT: An item renamed between ticks
+        // WHY: The cached category must be invalidated when the name changes
+
+        Item[] items = new Item[] {
+            new Item("Elixir of the Mongoose", 5, 10)
+        };
+
+        GildedRose app = new GildedRose(items);
+        app.updateQuality();
+        assertEquals(9, app.items[0].quality);
+
+        items[0].name = "Aged Brie";
+        app.updateQuality();
+        assertEquals(10, app.items[0].quality);
+    }
+
+    @Test
+    void replacedItemsArray_isClassifiedAgain() {
+        // WHAT: The items array is swapped for a longer one
+        // WHY: The cache is sized per item and must follow the new array
+
+        GildedRose app = new GildedRose(new Item[] {
+            new Item("Aged Brie", 5, 10)
+        });
+        app.updateQuality();
+
+        app.items = new Item[] {
+            new Item("Conjured Mana Cake", 5, 10),
+            new Item("Sulfuras, Hand of Ragnaros", 5, 80)
+        };
+        app.updateQuality();
+
+        assertEquals(8, app.items[0].quality);
+        assertEquals(80, app.items[1].quality);
+        assertEquals(5, app.items[1].sellIn);
+    }
+
 }
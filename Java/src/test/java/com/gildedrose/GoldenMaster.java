@@ -0,0 +1,185 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Golden-master harness: runs seeded random inventories through every
+ * EngineVariant and compares them with the reference GildedRose.
+
+ * For each engine and mix it records:
+ * - a hash of the whole inventory after every day (the "golden master"
+ *   is the reference engine's hash; any difference is a failure)
+ * - wall time of the ticks
+ * - bytes allocated by the ticking thread (ThreadMXBean); work done on
+ *   other threads, like PARALLEL's fork/join pool, is not counted
+
+ * Usage: GoldenMaster [size] [days] [seed] [baseline file] [tolerance %] [record]
+ * - With a baseline file, a run fails when its time or allocation is
+ *   more than tolerance % above the baseline for the same engine, mix
+ *   and size.
+ * - With "record" as the last argument, the baseline file is written
+ *   from this run instead of checked.
+ * Exits with status 1 on any hash mismatch or regression.
+ */
+public class GoldenMaster {
+
+    // Allocation below this many bytes per run is treated as noise
+    static final long ALLOCATION_SLACK_BYTES = 64 * 1024;
+
+    // FNV-1a 64-bit parameters
+    private static final long HASH_SEED = 0xcbf29ce484222325L;
+    private static final long HASH_PRIME = 0x100000001b3L;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        Path baselineFile = args.length > 3 ? Paths.get(args[3]) : null;
+        double tolerance = args.length > 4 ? Double.parseDouble(args[4]) / 100 : 0.25;
+        boolean record = args.length > 5 && args[5].equals("record");
+
+        Properties baseline = new Properties();
+        if (baselineFile != null && !record && Files.exists(baselineFile)) {
+            try (Reader reader = Files.newBufferedReader(baselineFile, StandardCharsets.UTF_8)) {
+                baseline.load(reader);
+            }
+        }
+
+        System.out.println("size: " + size + ", days: " + days + ", seed: " + seed);
+        System.out.println("mix, engine, hash, ms, MB allocated, result");
+
+        List<String> failures = new ArrayList<>();
+        for (InventoryGenerator.Mix mix : InventoryGenerator.Mix.values()) {
+            Run reference = run(EngineVariant.GILDED_ROSE, seed, size, mix, days);
+            for (EngineVariant engine : EngineVariant.values()) {
+                Run run = engine == EngineVariant.GILDED_ROSE ? reference : run(engine, seed, size, mix, days);
+                String key = key(engine, mix, size);
+                String problem = check(run, reference, baseline.getProperty(key), tolerance);
+                if (problem != null) {
+                    failures.add(key + ": " + problem);
+                }
+                if (record) {
+                    baseline.setProperty(key, run.nanos + "," + run.allocatedBytes);
+                }
+                System.out.printf("%s, %s, %016x, %.1f, %.1f, %s%n",
+                    mix, engine, run.hash, run.nanos / 1e6, run.allocatedBytes / 1e6,
+                    problem == null ? "ok" : problem);
+            }
+        }
+
+        if (record && baselineFile != null) {
+            try (Writer writer = Files.newBufferedWriter(baselineFile, StandardCharsets.UTF_8)) {
+                baseline.store(writer, "GoldenMaster baseline: nanos,allocated bytes");
+            }
+            System.out.println("Baseline written to " + baselineFile);
+        }
+        if (!failures.isEmpty()) {
+            System.out.println("FAILED:");
+            for (String failure : failures) {
+                System.out.println("  " + failure);
+            }
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Result of running one engine for a number of days.
+     */
+    static final class Run {
+
+        final long hash;
+        final long nanos;
+        final long allocatedBytes;
+
+        Run(long hash, long nanos, long allocatedBytes) {
+            this.hash = hash;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    /**
+     * Runs one engine on a seeded inventory. The engine is run once
+     * first so the measured run is JIT-compiled; only the ticks are
+     * timed, not hashing or converting back to Items.
+     */
+    static Run run(EngineVariant variant, long seed, int size, InventoryGenerator.Mix mix, int days) {
+        Item[] items = InventoryGenerator.randomItems(seed, size, mix);
+        measure(variant.load(InventoryGenerator.copy(items)), days);
+        return measure(variant.load(items), days);
+    }
+
+    private static Run measure(EngineVariant.Engine engine, int days) {
+        long hash = HASH_SEED;
+        long nanos = 0;
+        long allocated = 0;
+        for (int day = 0; day < days; day++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            engine.tick();
+            nanos += System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+
+            hash = hash(hash, engine.items());
+        }
+        return new Run(hash, nanos, allocated);
+    }
+
+    /**
+     * Null if run is fine, otherwise a description of what is wrong.
+     * baseline is "nanos,allocated bytes" or null for no baseline.
+     */
+    static String check(Run run, Run reference, String baseline, double tolerance) {
+        if (run.hash != reference.hash) {
+            return "output differs from GildedRose";
+        }
+        if (baseline == null) {
+            return null;
+        }
+        String[] parts = baseline.split(",");
+        long baselineNanos = Long.parseLong(parts[0].trim());
+        long baselineBytes = Long.parseLong(parts[1].trim());
+        if (run.nanos > baselineNanos * (1 + tolerance)) {
+            return String.format("time regressed: %.1f ms vs %.1f ms baseline", run.nanos / 1e6, baselineNanos / 1e6);
+        }
+        if (run.allocatedBytes > baselineBytes * (1 + tolerance) + ALLOCATION_SLACK_BYTES) {
+            return "allocation regressed: " + run.allocatedBytes + " bytes vs " + baselineBytes + " baseline";
+        }
+        return null;
+    }
+
+    static String key(EngineVariant engine, InventoryGenerator.Mix mix, int size) {
+        return engine + "." + mix + "." + size;
+    }
+
+    /**
+     * Folds one day's inventory into the running hash (FNV-1a over
+     * each item's name hash, sellIn and quality, in order).
+     */
+    static long hash(long hash, Item[] items) {
+        for (Item item : items) {
+            hash = (hash ^ item.name.hashCode()) * HASH_PRIME;
+            hash = (hash ^ item.sellIn) * HASH_PRIME;
+            hash = (hash ^ item.quality) * HASH_PRIME;
+        }
+        return hash;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.gildedrose;
+
+/*
+ * Tests for the GoldenMaster harness.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GoldenMasterTest {
+
+    @Test
+    void everyEngineMatchesTheGoldenMaster() {
+        for (InventoryGenerator.Mix mix : InventoryGenerator.Mix.values()) {
+            GoldenMaster.Run reference = GoldenMaster.run(EngineVariant.GILDED_ROSE, 19L, 5_000, mix, 40);
+            for (EngineVariant engine : EngineVariant.values()) {
+                GoldenMaster.Run run = GoldenMaster.run(engine, 19L, 5_000, mix, 40);
+                assertNull(GoldenMaster.check(run, reference, null, 0.25), engine + " / " + mix);
+            }
+        }
+    }
+
+    @Test
+    void hashDependsOnEveryField() {
+        Item[] items = { new Item("Aged Brie", 2, 0) };
+        long hash = GoldenMaster.hash(0, items);
+
+        assertEquals(hash, GoldenMaster.hash(0, new Item[] { new Item("Aged Brie", 2, 0) }));
+        assertNotEquals(hash, GoldenMaster.hash(0, new Item[] { new Item("Aged Brie", 2, 1) }));
+        assertNotEquals(hash, GoldenMaster.hash(0, new Item[] { new Item("Aged Brie", 3, 0) }));
+        assertNotEquals(hash, GoldenMaster.hash(0, new Item[] { new Item("Aged Cheddar", 2, 0) }));
+    }
+
+    @Test
+    void flagsRegressionsPastTheTolerance() {
+        GoldenMaster.Run reference = new GoldenMaster.Run(7, 1_000_000, 0);
+
+        assertNull(GoldenMaster.check(new GoldenMaster.Run(7, 1_200_000, 0), reference, "1000000,0", 0.25));
+        assertNotNull(GoldenMaster.check(new GoldenMaster.Run(7, 1_300_000, 0), reference, "1000000,0", 0.25));
+        assertNotNull(GoldenMaster.check(new GoldenMaster.Run(7, 1_000_000, 10_000_000), reference, "1000000,0", 0.25));
+        assertNotNull(GoldenMaster.check(new GoldenMaster.Run(8, 1_000_000, 0), reference, null, 0.25));
+    }
+}
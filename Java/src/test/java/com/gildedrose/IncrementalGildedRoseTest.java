@@ -0,0 +1,105 @@
+package com.gildedrose;
+
+/*
+ * Tests for IncrementalGildedRose.
+ *
+ * Settled items are skipped on each tick, but every read must
+ * still match a full GildedRose pass.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalGildedRoseTest {
+
+    @Test
+    void matchesFullPassOnEveryDay() {
+        Item[] items = InventoryGenerator.randomItems(31L, 2_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        IncrementalGildedRose app = new IncrementalGildedRose(InventoryGenerator.copy(items));
+
+        for (int day = 0; day < 60; day++) {
+            reference.updateQuality();
+            app.updateQuality();
+
+            // Read only some days, so settled items owe several decrements
+            if (day % 7 == 0) {
+                assertSameItems(reference.items, app.items(), day);
+            }
+        }
+        assertSameItems(reference.items, app.items(), 60);
+    }
+
+    @Test
+    void settledItemsAreNoLongerVisited() {
+        // WHAT: Legendary and pinned items leave the active list
+        // WHY: Per-tick cost should follow the items that still change
+
+        Item[] items = new Item[] {
+            new Item("Sulfuras, Hand of Ragnaros", 0, 80),
+            new Item("Aged Brie", 5, 50),
+            new Item("Elixir of the Mongoose", 5, 1),
+            new Item("Backstage passes to a TAFKAL80ETC concert", 5, 50)
+        };
+        IncrementalGildedRose app = new IncrementalGildedRose(items);
+        assertEquals(2, app.activeCount());
+
+        app.updateQuality();
+        assertEquals(1, app.activeCount());
+
+        app.updateQuality();
+        assertEquals(3, app.item(1).sellIn);
+        assertEquals(3, app.item(2).sellIn);
+        assertEquals(0, app.item(2).quality);
+    }
+
+    @Test
+    void expiredBackstagePassesSettleAtZero() {
+        // WHAT: Passes past their concert stop being visited once at 0
+        // WHY: Old passes pile up; ticks should not keep paying for them
+
+        Item[] items = new Item[1_000];
+        for (int i = 0; i < items.length; i++) {
+            // Half already expired at 0, half expiring on the first tick
+            items[i] = i % 2 == 0
+                ? new Item("Backstage passes to a TAFKAL80ETC concert", -3, 0)
+                : new Item("Backstage passes to a TAFKAL80ETC concert", 0, 20);
+        }
+        IncrementalGildedRose app = new IncrementalGildedRose(items);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        assertEquals(500, app.activeCount());
+
+        app.updateQuality();
+        reference.updateQuality();
+        assertEquals(0, app.activeCount());
+
+        for (int day = 2; day <= 5; day++) {
+            app.updateQuality();
+            reference.updateQuality();
+        }
+        assertSameItems(reference.items, app.items(), 5);
+    }
+
+    @Test
+    void reindexPicksUpOutsideChanges() {
+        Item[] items = new Item[] {
+            new Item("Elixir of the Mongoose", 5, 0)
+        };
+        IncrementalGildedRose app = new IncrementalGildedRose(items);
+        app.updateQuality();
+
+        app.item(0).quality = 10;
+        app.reindex();
+        app.updateQuality();
+
+        assertEquals(3, app.item(0).sellIn);
+        assertEquals(9, app.item(0).quality);
+    }
+
+    private static void assertSameItems(Item[] expected, Item[] actual, int day) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString(), "day " + day + ", item " + i);
+        }
+    }
+}
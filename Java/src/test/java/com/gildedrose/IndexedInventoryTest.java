@@ -0,0 +1,83 @@
+package com.gildedrose;
+
+/*
+ * Tests for IndexedInventory.
+ *
+ * Every query is checked against a plain scan of the items,
+ * after several ticks so the epoch shift and quality moves are used.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndexedInventoryTest {
+
+    @Test
+    void updatesMatchGildedRose() {
+        Item[] items = InventoryGenerator.randomItems(61L, 1_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        IndexedInventory indexed = new IndexedInventory(items);
+
+        for (int day = 0; day < 30; day++) {
+            reference.updateQuality();
+            indexed.updateQuality();
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(reference.items[i].toString(), indexed.items()[i].toString());
+        }
+    }
+
+    @Test
+    void queriesMatchAFullScanOnEveryDay() {
+        Item[] items = InventoryGenerator.randomItems(62L, 2_000);
+        IndexedInventory indexed = new IndexedInventory(items);
+
+        for (int day = 0; day < 25; day++) {
+            // "Which backstage passes hit the 5-day tier tomorrow"
+            assertArrayEquals(
+                scan(items, i -> ItemCategory.of(items[i].name) == ItemCategory.BACKSTAGE_PASS && items[i].sellIn == 6),
+                sorted(indexed.query(ItemCategory.BACKSTAGE_PASS, 6, 6, Integer.MIN_VALUE, Integer.MAX_VALUE)));
+
+            // "Which items expire this week" (includes Sulfuras with sellIn in range)
+            assertArrayEquals(
+                scan(items, i -> items[i].sellIn >= 0 && items[i].sellIn <= 7),
+                sorted(indexed.withSellInBetween(0, 7)));
+
+            assertArrayEquals(
+                scan(items, i -> items[i].quality >= 45),
+                sorted(indexed.withQualityBetween(45, Integer.MAX_VALUE)));
+
+            assertArrayEquals(
+                scan(items, i -> ItemCategory.of(items[i].name) == ItemCategory.AGED_BRIE
+                    && items[i].sellIn <= 0 && items[i].quality <= 10),
+                sorted(indexed.query(ItemCategory.AGED_BRIE, Integer.MIN_VALUE, 0, 0, 10)));
+
+            assertArrayEquals(
+                scan(items, i -> ItemCategory.of(items[i].name) == ItemCategory.CONJURED),
+                sorted(indexed.withCategory(ItemCategory.CONJURED)));
+
+            indexed.updateQuality();
+        }
+    }
+
+    private static int[] scan(Item[] items, IntPredicate matches) {
+        IntBag result = new IntBag();
+        for (int i = 0; i < items.length; i++) {
+            if (matches.test(i)) {
+                result.add(i);
+            }
+        }
+        return result.toArray();
+    }
+
+    private static int[] sorted(int[] indexes) {
+        Arrays.sort(indexes);
+        return indexes;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gildedrose;
+
+/*
+ * Tests for InventoryCheckpoint.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InventoryCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsItemsAndTick() throws IOException {
+        Item[] items = InventoryGenerator.randomItems(161L, 10_000);
+        Path file = directory.resolve("checkpoint.bin");
+
+        InventoryCheckpoint.write(items, 42, file);
+        InventoryCheckpoint.Restored restored = InventoryCheckpoint.read(file);
+
+        assertEquals(42, restored.tick);
+        assertEquals(items.length, restored.items.length);
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(items[i].toString(), restored.items[i].toString());
+        }
+        // Names are shared, not one String per item
+        assertSame(restored.items[0].name, findByName(restored.items, restored.items[0].name));
+    }
+
+    @Test
+    void rejectsTruncatedCheckpoint() throws IOException {
+        Path file = directory.resolve("checkpoint.bin");
+        InventoryCheckpoint.write(InventoryGenerator.randomItems(162L, 1_000), 1, file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        assertThrows(IOException.class, () -> InventoryCheckpoint.read(file));
+    }
+
+    @Test
+    void rejectsDamagedCheckpoint() throws IOException {
+        Path file = directory.resolve("checkpoint.bin");
+        InventoryCheckpoint.write(InventoryGenerator.randomItems(163L, 1_000), 1, file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x10;
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> InventoryCheckpoint.read(file));
+    }
+
+    @Test
+    void leftoverTemporaryFileDoesNotAffectTheCheckpoint() throws IOException {
+        Item[] items = InventoryGenerator.randomItems(164L, 1_000);
+        Path file = directory.resolve("checkpoint.bin");
+        InventoryCheckpoint.write(items, 7, file);
+
+        // A crash while writing the next checkpoint leaves a partial temp file
+        Files.write(directory.resolve("checkpoint.bin.tmp"), new byte[] { 0x47, 0x52 });
+
+        InventoryCheckpoint.Restored restored = InventoryCheckpoint.read(file);
+        assertEquals(7, restored.tick);
+        assertEquals(items[999].toString(), restored.items[999].toString());
+
+        InventoryCheckpoint.write(items, 8, file);
+        assertEquals(8, InventoryCheckpoint.read(file).tick);
+    }
+
+    private static String findByName(Item[] items, String name) {
+        for (int i = items.length - 1; i >= 0; i--) {
+            if (items[i].name.equals(name)) {
+                return items[i].name;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,161 @@
+package com.gildedrose;
+
+/*
+ * Tests for InventoryForecast.
+ *
+ * PROPERTY:
+ * A scenario's trajectory equals running updateQuality() day by day on
+ * a copy of the inventory, taking items out and putting deliveries in
+ * on the scenario's days, and summing quality every day.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InventoryForecastTest {
+
+    @Test
+    void baselineMatchesDailyUpdates() {
+        Item[] items = InventoryGenerator.randomItems(7L, 2_000);
+        InventoryForecast forecast = InventoryForecast.of(items, 60);
+
+        assertTrajectory(simulate(items, new InventoryForecast.Scenario(60), keepAll(items.length), new Item[0], new int[0]),
+                         forecast.baseline(60));
+    }
+
+    @Test
+    void removalsAndDeliveriesMatchDailyUpdates() {
+        Item[] items = InventoryGenerator.randomItems(11L, 1_000);
+        InventoryForecast forecast = InventoryForecast.of(items, 40);
+        Random random = new Random(11L);
+
+        for (int run = 0; run < 50; run++) {
+            int horizon = random.nextInt(41);
+            InventoryForecast.Scenario scenario = new InventoryForecast.Scenario(horizon);
+            int[] removedOn = keepAll(items.length);
+            for (int r = 0; r < 30; r++) {
+                int index = random.nextInt(items.length);
+                if (removedOn[index] < 0) {
+                    removedOn[index] = random.nextInt(horizon + 1);
+                    scenario.removeOn(removedOn[index], index);
+                }
+            }
+            Item[] delivery = InventoryGenerator.randomItems(run, 20);
+            int[] deliveredOn = new int[delivery.length];
+            for (int a = 0; a < delivery.length; a++) {
+                deliveredOn[a] = random.nextInt(horizon + 1);
+                scenario.addOn(deliveredOn[a], delivery[a]);
+            }
+
+            assertTrajectory(simulate(items, scenario, removedOn, delivery, deliveredOn), forecast.run(scenario));
+        }
+    }
+
+    @Test
+    void holdingBackstagePassesLongerChangesOnlyTheirDays() {
+        Item[] items = {
+            new Item("+5 Dexterity Vest", 10, 20),
+            new Item("Backstage passes to a TAFKAL80ETC concert", 4, 30)
+        };
+        InventoryForecast forecast = InventoryForecast.of(items, 5);
+
+        InventoryForecast.Trajectory sellNow = forecast.run(new InventoryForecast.Scenario(5).remove(1));
+        InventoryForecast.Trajectory holdThreeDays = forecast.run(new InventoryForecast.Scenario(5).removeOn(3, 1));
+
+        // Passes gain 3 a day within 5 days: 30, 33, 36 on days 0..2
+        assertEquals(20 + 30, holdThreeDays.totalQuality(0));
+        assertEquals(sellNow.totalQuality(2) + 36, holdThreeDays.totalQuality(2));
+        assertEquals(sellNow.totalQuality(3), holdThreeDays.totalQuality(3));
+        assertEquals(2, holdThreeDays.itemCount(2));
+        assertEquals(1, holdThreeDays.itemCount(3));
+    }
+
+    @Test
+    void parallelRunsMatchSequentialRuns() {
+        Item[] items = InventoryGenerator.randomItems(3L, 50_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelismPolicy parallel = ParallelismPolicy.of(pool, 0);
+            InventoryForecast forecast = InventoryForecast.of(items, 30, parallel);
+            InventoryForecast sequential = InventoryForecast.of(items, 30, ParallelismPolicy.of(pool, Integer.MAX_VALUE));
+
+            List<InventoryForecast.Scenario> scenarios = new ArrayList<>();
+            for (int s = 0; s < 100; s++) {
+                scenarios.add(new InventoryForecast.Scenario(30).remove(s).addOn(s % 31, items[s]));
+            }
+            InventoryForecast.Trajectory[] results = forecast.run(scenarios, parallel);
+
+            for (int s = 0; s < scenarios.size(); s++) {
+                assertTrajectory(sequential.run(scenarios.get(s)), results[s]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsInvalidScenarios() {
+        InventoryForecast forecast = InventoryForecast.of(InventoryGenerator.randomItems(1L, 10), 5);
+
+        assertThrows(IllegalArgumentException.class, () -> new InventoryForecast.Scenario(-1));
+        assertThrows(IllegalArgumentException.class, () -> new InventoryForecast.Scenario(5).removeOn(6, 0));
+        assertThrows(IllegalArgumentException.class, () -> forecast.run(new InventoryForecast.Scenario(6)));
+        assertThrows(IllegalArgumentException.class, () -> forecast.run(new InventoryForecast.Scenario(5).remove(10)));
+        assertThrows(IllegalArgumentException.class,
+            () -> forecast.run(new InventoryForecast.Scenario(5).remove(3).removeOn(2, 3)));
+    }
+
+    /*
+     * Reference: a copy of the inventory updated day by day.
+     * removedOn[i] < 0 means item i is kept.
+     */
+    private static InventoryForecast.Trajectory simulate(Item[] items, InventoryForecast.Scenario scenario,
+                                                         int[] removedOn, Item[] delivery, int[] deliveredOn) {
+        int horizon = scenario.horizon();
+        long[] totals = new long[horizon + 1];
+        int[] counts = new int[horizon + 1];
+        Item[] stock = InventoryGenerator.copy(items);
+        Item[] arrivals = InventoryGenerator.copy(delivery);
+        for (int day = 0; day <= horizon; day++) {
+            List<Item> live = new ArrayList<>();
+            for (int i = 0; i < stock.length; i++) {
+                if (removedOn[i] < 0 || day < removedOn[i]) {
+                    live.add(stock[i]);
+                }
+            }
+            for (int a = 0; a < arrivals.length; a++) {
+                if (day >= deliveredOn[a]) {
+                    live.add(arrivals[a]);
+                }
+            }
+            for (Item item : live) {
+                totals[day] += item.quality;
+            }
+            counts[day] = live.size();
+            new GildedRose(live.toArray(new Item[0])).updateQuality();
+        }
+        return new InventoryForecast.Trajectory(totals, counts);
+    }
+
+    private static int[] keepAll(int size) {
+        int[] removedOn = new int[size];
+        Arrays.fill(removedOn, -1);
+        return removedOn;
+    }
+
+    private static void assertTrajectory(InventoryForecast.Trajectory expected, InventoryForecast.Trajectory actual) {
+        assertEquals(expected.horizon(), actual.horizon());
+        for (int day = 0; day <= expected.horizon(); day++) {
+            assertEquals(expected.totalQuality(day), actual.totalQuality(day), "total quality on day " + day);
+            assertEquals(expected.itemCount(day), actual.itemCount(day), "item count on day " + day);
+        }
+    }
+}
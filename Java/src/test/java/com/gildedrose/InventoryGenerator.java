@@ -0,0 +1,126 @@
+package com.gildedrose;
+
+import java.util.Random;
+
+/**
+ * Builds seeded random inventories for differential tests.
+
+ * The same seed always produces the same items, so a failing
+ * comparison can be reproduced exactly.
+ */
+final class InventoryGenerator {
+
+    static final String[] NORMAL_NAMES = {
+        "+5 Dexterity Vest",
+        "Elixir of the Mongoose"
+    };
+
+    static final String[] CONJURED_NAMES = {
+        "Conjured Mana Cake",
+        "Conjured Dexterity Vest"
+    };
+
+    static final String AGED_BRIE = "Aged Brie";
+    static final String BACKSTAGE_PASS = "Backstage passes to a TAFKAL80ETC concert";
+    static final String SULFURAS = "Sulfuras, Hand of Ragnaros";
+
+    /**
+     * Item mixes used by the benchmarks.
+     * Each weight is the share (in percent) of normal, Conjured,
+     * Aged Brie, backstage pass and Sulfuras items.
+     */
+    enum Mix {
+        ALL_NORMAL(100, 0, 0, 0, 0),
+        BRIE_HEAVY(10, 5, 80, 5, 0),
+        BACKSTAGE_HEAVY(10, 5, 5, 80, 0),
+        CONJURED_HEAVY(10, 80, 5, 5, 0),
+        REALISTIC(60, 10, 10, 10, 10);
+
+        private final int[] cumulative = new int[5];
+
+        Mix(int normal, int conjured, int agedBrie, int backstage, int sulfuras) {
+            int[] weights = { normal, conjured, agedBrie, backstage, sulfuras };
+            int total = 0;
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i];
+                cumulative[i] = total;
+            }
+        }
+
+        /**
+         * Picks a category slot (same numbering as randomItem) by weight.
+         */
+        int pick(Random random) {
+            int roll = random.nextInt(100);
+            int slot = 0;
+            while (roll >= cumulative[slot]) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    private InventoryGenerator() {
+    }
+
+    /**
+     * Generates a mixed inventory covering every category,
+     * including items that are already expired or at the quality limits.
+     */
+    static Item[] randomItems(long seed, int size) {
+        Random random = new Random(seed);
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = randomItem(random);
+        }
+        return items;
+    }
+
+    /**
+     * Generates an inventory with the given category mix.
+     */
+    static Item[] randomItems(long seed, int size, Mix mix) {
+        Random random = new Random(seed);
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = randomItem(random, mix.pick(random));
+        }
+        return items;
+    }
+
+    static Item randomItem(Random random) {
+        return randomItem(random, random.nextInt(5));
+    }
+
+    private static Item randomItem(Random random, int slot) {
+        int sellIn = random.nextInt(30) - 5;
+        int quality = random.nextInt(51);
+        switch (slot) {
+            case 0:
+                return new Item(pick(random, NORMAL_NAMES), sellIn, quality);
+            case 1:
+                return new Item(pick(random, CONJURED_NAMES), sellIn, quality);
+            case 2:
+                return new Item(AGED_BRIE, sellIn, quality);
+            case 3:
+                return new Item(BACKSTAGE_PASS, sellIn, quality);
+            default:
+                return new Item(SULFURAS, sellIn, 80);
+        }
+    }
+
+    /**
+     * Deep copy so two engines can run on identical starting state.
+     */
+    static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+    private static String pick(Random random, String[] names) {
+        return names[random.nextInt(names.length)];
+    }
+}
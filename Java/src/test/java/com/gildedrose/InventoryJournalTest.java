@@ -0,0 +1,191 @@
+package com.gildedrose;
+
+/*
+ * Tests for InventoryJournal and DeltaLog, including restarts
+ * after the writing process was killed.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryJournalTest {
+
+    private static final long SEED = 171L;
+    private static final int SIZE = 5_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restartContinuesFromCheckpointPlusDeltas() throws IOException {
+        try (InventoryJournal journal = InventoryJournal.open(directory, items(), 4)) {
+            for (int day = 0; day < 10; day++) {
+                journal.tick();
+            }
+        }
+
+        // Checkpoint at tick 8, deltas for ticks 9 and 10
+        try (InventoryJournal restarted = InventoryJournal.open(directory, null, 4)) {
+            assertEquals(10, restarted.currentTick());
+            assertMatchesReference(restarted.items(), 10);
+
+            restarted.tick();
+            assertEquals(11, restarted.currentTick());
+            assertMatchesReference(restarted.items(), 11);
+        }
+    }
+
+    @Test
+    void tornDeltaTailLosesOnlyTheUnfinishedTick() throws IOException {
+        try (InventoryJournal journal = InventoryJournal.open(directory, items(), 100)) {
+            for (int day = 0; day < 3; day++) {
+                journal.tick();
+            }
+        }
+
+        // Cut the last tick's COMMIT frame in half
+        try (FileChannel channel = FileChannel.open(directory.resolve(InventoryJournal.DELTA_FILE),
+                StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 6);
+        }
+
+        try (InventoryJournal restarted = InventoryJournal.open(directory, null, 100)) {
+            assertEquals(2, restarted.currentTick());
+            assertMatchesReference(restarted.items(), 2);
+
+            // New ticks are appended after the last good frame
+            restarted.tick();
+        }
+        try (InventoryJournal again = InventoryJournal.open(directory, null, 100)) {
+            assertEquals(3, again.currentTick());
+            assertMatchesReference(again.items(), 3);
+        }
+    }
+
+    @Test
+    void ticksWithoutTheirOwnCommitAreNotReplayed() throws IOException {
+        // WHAT: ENTRIES for tick 1 with no COMMIT(1), then a committed tick 2
+        // WHY: A writer that failed mid-tick may keep ticking afterwards
+
+        Path file = directory.resolve("deltas.log");
+        try (DeltaLog log = DeltaLog.open(file)) {
+            ChangeLog changes = new ChangeLog(log, 16);
+            changes.beginTick();
+            changes.record(0, 5, 10, 4, 9, 0);
+            changes.flush();
+
+            changes.beginTick();
+            changes.record(1, 5, 10, 4, 11, 0);
+            changes.endTick();
+        }
+
+        Item[] items = {new Item("+5 Dexterity Vest", 5, 10), new Item("Aged Brie", 5, 10)};
+        assertEquals(2, DeltaLog.replay(file, items, 0));
+        assertEquals("+5 Dexterity Vest, 5, 10", items[0].toString());
+        assertEquals("Aged Brie, 4, 11", items[1].toString());
+    }
+
+    @Test
+    void deltasAlreadyInTheCheckpointAreSkipped() throws IOException {
+        Path deltaFile = directory.resolve(InventoryJournal.DELTA_FILE);
+        byte[] staleDeltas;
+        try (InventoryJournal journal = InventoryJournal.open(directory, items(), 100)) {
+            for (int day = 0; day < 5; day++) {
+                journal.tick();
+            }
+            staleDeltas = Files.readAllBytes(deltaFile);
+            journal.checkpoint();
+        }
+
+        // Crash after the checkpoint was renamed but before the log was cleared
+        Files.write(deltaFile, staleDeltas);
+
+        try (InventoryJournal restarted = InventoryJournal.open(directory, null, 100)) {
+            assertEquals(5, restarted.currentTick());
+            assertMatchesReference(restarted.items(), 5);
+        }
+    }
+
+    @Test
+    void recoversAfterTheProcessIsKilled() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        for (int run = 0; run < 3; run++) {
+            Process process = new ProcessBuilder(java,
+                    "-cp", System.getProperty("java.class.path"),
+                    Worker.class.getName(), directory.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("worker-" + run + ".out").toFile())
+                .start();
+            waitForTicks(process, 3 + run * 5);
+            process.destroyForcibly();
+            assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+
+            try (InventoryJournal restarted = InventoryJournal.open(directory, null, Worker.CHECKPOINT_EVERY)) {
+                assertTrue(restarted.currentTick() > 0);
+                assertMatchesReference(restarted.items(), restarted.currentTick());
+            }
+        }
+    }
+
+    /**
+     * Runs ticks until it is killed. Started in its own JVM by
+     * recoversAfterTheProcessIsKilled.
+     */
+    static final class Worker {
+
+        static final int CHECKPOINT_EVERY = 7;
+
+        public static void main(String[] args) throws IOException {
+            Path directory = Paths.get(args[0]);
+            try (InventoryJournal journal = InventoryJournal.open(directory, items(), CHECKPOINT_EVERY)) {
+                while (true) {
+                    journal.tick();
+                    Files.write(directory.resolve("progress"),
+                        Long.toString(journal.currentTick()).getBytes());
+                }
+            }
+        }
+    }
+
+    private void waitForTicks(Process process, long ticks) throws Exception {
+        File progress = directory.resolve("progress").toFile();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            if (progress.exists()) {
+                String text = new String(Files.readAllBytes(progress.toPath())).trim();
+                if (!text.isEmpty() && Long.parseLong(text) >= ticks) {
+                    return;
+                }
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Worker did not reach tick " + ticks);
+    }
+
+    private static Item[] items() {
+        return InventoryGenerator.randomItems(SEED, SIZE);
+    }
+
+    private static void assertMatchesReference(Item[] actual, long ticks) {
+        GildedRose reference = new GildedRose(items());
+        for (long day = 0; day < ticks; day++) {
+            reference.updateQuality();
+        }
+        assertEquals(reference.items.length, actual.length);
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals(reference.items[i].toString(), actual[i].toString());
+        }
+    }
+}
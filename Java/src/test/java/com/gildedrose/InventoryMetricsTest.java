@@ -0,0 +1,91 @@
+package com.gildedrose;
+
+/*
+ * Tests for the optional InventoryMetrics surface of GildedRose.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryMetricsTest {
+
+    @Test
+    void countsItemsExpiriesAndClamps() {
+        Item[] items = new Item[] {
+            new Item("Elixir of the Mongoose", 0, 1),       // expires, clamps at 0 once
+            new Item("Aged Brie", 5, 50),                   // clamps at 50 once
+            new Item("Conjured Mana Cake", 5, 10),
+            new Item("Backstage passes to a TAFKAL80ETC concert", 15, 20),
+            new Item("Sulfuras, Hand of Ragnaros", -1, 80)  // never counted as expired
+        };
+        InventoryMetrics metrics = new InventoryMetrics();
+
+        new GildedRose(items, metrics).updateQuality();
+
+        assertEquals(1, metrics.getTicks());
+        assertEquals(5, metrics.getItemsUpdated());
+        assertEquals(1, metrics.getNormalItems());
+        assertEquals(1, metrics.getConjuredItems());
+        assertEquals(1, metrics.getAgedBrieItems());
+        assertEquals(1, metrics.getBackstagePassItems());
+        assertEquals(1, metrics.getSulfurasItems());
+        assertEquals(1, metrics.getExpiredItems());
+        assertEquals(1, metrics.getClampedAtMaximum());
+        assertEquals(1, metrics.getClampedAtMinimum());
+        assertEquals(1, metrics.tickLatency().count());
+    }
+
+    @Test
+    void parallelUpdateRecordsTheSameCounts() {
+        Item[] items = InventoryGenerator.randomItems(41L, 20_000);
+        InventoryMetrics sequential = new InventoryMetrics();
+        InventoryMetrics parallel = new InventoryMetrics();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            new GildedRose(InventoryGenerator.copy(items), sequential).updateQuality();
+            new GildedRose(InventoryGenerator.copy(items), parallel).updateQuality(ParallelismPolicy.of(pool, 0));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(sequential.getItemsUpdated(), parallel.getItemsUpdated());
+        assertEquals(sequential.getExpiredItems(), parallel.getExpiredItems());
+        assertEquals(sequential.getClampedAtMaximum(), parallel.getClampedAtMaximum());
+        assertEquals(sequential.getClampedAtMinimum(), parallel.getClampedAtMinimum());
+    }
+
+    @Test
+    void latencyHistogramReportsPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(100_000, histogram.maxNanos());
+        // Bucket upper bounds are at most twice the true value
+        long p99 = histogram.percentileNanos(0.99);
+        assertTrue(p99 >= 99_000 && p99 <= 2 * 99_000, "p99 " + p99);
+    }
+
+    @Test
+    void metricsAreVisibleThroughJmx() throws Exception {
+        InventoryMetrics metrics = new InventoryMetrics();
+        ObjectName name = metrics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            new GildedRose(new Item[] { new Item("Aged Brie", 1, 1) }, metrics).updateQuality();
+
+            assertEquals(1L, server.getAttribute(name, "AgedBrieItems"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
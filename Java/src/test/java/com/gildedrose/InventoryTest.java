@@ -0,0 +1,125 @@
+package com.gildedrose;
+
+/*
+ * Tests for the growable Inventory container.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryTest {
+
+    @Test
+    void appendsGrowGeometrically() {
+        Inventory inventory = new Inventory(4);
+        int grows = 0;
+        int capacity = inventory.capacity();
+        for (int i = 0; i < 100_000; i++) {
+            inventory.add(new Item("+5 Dexterity Vest", 10, 20));
+            if (inventory.capacity() != capacity) {
+                grows++;
+                capacity = inventory.capacity();
+            }
+        }
+
+        assertEquals(100_000, inventory.size());
+        assertTrue(grows < 30, "grew " + grows + " times");
+    }
+
+    @Test
+    void batchInsertGrowsOnce() {
+        Inventory inventory = new Inventory(4);
+
+        inventory.addAll(InventoryGenerator.randomItems(201L, 1_000));
+
+        assertEquals(1_000, inventory.size());
+        assertEquals(1_000, inventory.capacity());
+    }
+
+    @Test
+    void rejectedDeliveryAddsNothing() {
+        // WHAT: A null in the middle of a delivery
+        // WHY: A partly added delivery would be added again on retry
+
+        Inventory inventory = new Inventory(2);
+        inventory.add(new Item("Aged Brie", 2, 0));
+
+        Item[] delivery = {
+            new Item("+5 Dexterity Vest", 10, 20), null, new Item("Conjured Mana Cake", 3, 6)
+        };
+        assertThrows(IllegalArgumentException.class, () -> inventory.addAll(delivery));
+
+        assertEquals(1, inventory.size());
+        assertEquals(1, inventory.slots());
+    }
+
+    @Test
+    void removalsKeepPositionsUntilCompaction() {
+        Item[] items = InventoryGenerator.randomItems(202L, 10);
+        Inventory inventory = new Inventory();
+        inventory.addAll(items);
+
+        inventory.remove(2);
+        inventory.remove(5);
+
+        assertEquals(8, inventory.size());
+        assertNull(inventory.get(2));
+        assertSame(items[6], inventory.get(6));
+
+        inventory.compact();
+
+        assertEquals(8, inventory.slots());
+        assertSame(items[3], inventory.get(2));
+        assertSame(items[6], inventory.get(4));
+        assertSame(items[9], inventory.get(7));
+    }
+
+    @Test
+    void updatesLikeGildedRoseWhileStockComesAndGoes() {
+        // WHAT: Deliveries, sales and expired write-offs between ticks
+        // WHY: The result must match rebuilding an Item[] for GildedRose every day
+
+        Random random = new Random(203L);
+        Inventory inventory = new Inventory();
+        List<Item> reference = new ArrayList<>();
+
+        for (int day = 0; day < 40; day++) {
+            Item[] delivery = InventoryGenerator.randomItems(day, random.nextInt(200));
+            inventory.addAll(delivery);
+            reference.addAll(Arrays.asList(InventoryGenerator.copy(delivery)));
+
+            // Sell a few items by position
+            for (int sold = 0; sold < 20 && !reference.isEmpty(); sold++) {
+                int position = random.nextInt(inventory.slots());
+                if (inventory.get(position) != null) {
+                    inventory.remove(position);
+                    reference.set(position, null);
+                }
+            }
+            reference.removeIf(item -> item == null);
+
+            // Write off worthless expired items
+            inventory.removeIf(item -> item.sellIn < 0 && item.quality == 0);
+            reference.removeIf(item -> item.sellIn < 0 && item.quality == 0);
+
+            inventory.updateQuality();
+            new GildedRose(reference.toArray(new Item[0])).updateQuality();
+
+            Item[] actual = inventory.toArray();
+            assertEquals(reference.size(), actual.length);
+            for (int i = 0; i < actual.length; i++) {
+                assertEquals(reference.get(i).toString(), actual[i].toString(), "day " + day + ", item " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.gildedrose;
+
+/*
+ * Tests for BinaryInventoryFormat and the in-place MappedInventory engine.
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedInventoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void itemsRoundTripThroughBinaryFile() throws IOException {
+        Item[] items = InventoryGenerator.randomItems(11L, 500);
+        Path file = dir.resolve("inventory.bin");
+
+        BinaryInventoryFormat.write(items, file);
+        Item[] read = BinaryInventoryFormat.readItems(file);
+
+        assertSameItems(items, read);
+    }
+
+    @Test
+    void textRoundTripsThroughBinaryFile() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Item item : InventoryGenerator.randomItems(12L, 200)) {
+            lines.add(item.toString());
+        }
+        Path text = dir.resolve("inventory.txt");
+        Path binary = dir.resolve("inventory.bin");
+        Path back = dir.resolve("back.txt");
+        Files.write(text, lines, StandardCharsets.UTF_8);
+
+        assertEquals(200, BinaryInventoryFormat.fromText(text, binary));
+        assertEquals(200, BinaryInventoryFormat.toText(binary, back));
+
+        assertEquals(lines, Files.readAllLines(back, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void failedWriterDoesNotFinishTheFile() throws IOException {
+        // WHAT: /dev/full fails every write with "no space left"
+        // WHY: The header must not claim records that never reached the file
+
+        BinaryInventoryFormat.Writer writer = new BinaryInventoryFormat.Writer(Paths.get("/dev/full"));
+        assertThrows(IOException.class, () -> {
+            for (Item item : InventoryGenerator.randomItems(15L, 20_000)) {
+                writer.append(item);
+            }
+        });
+        assertThrows(IOException.class, () -> writer.append(new Item("Aged Brie", 1, 1)));
+        assertThrows(IOException.class, writer::finish);
+
+        writer.close();
+    }
+
+    @Test
+    void badLineLeavesTheFileUnfinished() throws IOException {
+        // WHAT: A malformed line part way through the text aborts the conversion
+        // WHY: The records before it must not be published as a complete inventory
+
+        List<String> lines = new ArrayList<>();
+        for (Item item : InventoryGenerator.randomItems(16L, 10_000)) {
+            lines.add(item.toString());
+        }
+        lines.set(6_000, "not an item");
+        Path text = dir.resolve("inventory.txt");
+        Path binary = dir.resolve("inventory.bin");
+        Files.write(text, lines, StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryInventoryFormat.fromText(text, binary));
+
+        assertThrows(IOException.class, () -> MappedInventory.open(binary));
+    }
+
+    @Test
+    void rejectsSegmentSizesBelowOne() throws IOException {
+        Path file = dir.resolve("inventory.bin");
+        BinaryInventoryFormat.write(InventoryGenerator.randomItems(14L, 10), file);
+
+        assertThrows(IllegalArgumentException.class, () -> MappedInventory.open(file, 0));
+        assertThrows(IllegalArgumentException.class, () -> MappedInventory.open(file, -1));
+    }
+
+    @Test
+    void inPlaceUpdatesMatchGildedRose() throws IOException {
+        // WHAT: 30 days of in-place updates split over many small segments
+        // WHY: Segment boundaries must not change any result
+
+        Item[] items = InventoryGenerator.randomItems(13L, 1_001);
+        Path file = dir.resolve("inventory.bin");
+        BinaryInventoryFormat.write(items, file);
+
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        try (MappedInventory mapped = MappedInventory.open(file, 64)) {
+            for (int day = 0; day < 30; day++) {
+                reference.updateQuality();
+                mapped.updateQuality();
+            }
+        }
+
+        assertSameItems(reference.items, BinaryInventoryFormat.readItems(file));
+    }
+
+    private static void assertSameItems(Item[] expected, Item[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString(), "item " + i);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.gildedrose;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Prints how updateQuality(ParallelismPolicy) scales from 1 to N cores.
+
+ * Usage: ParallelScalingReport [items] [ticks]
+ * Defaults to 2,000,000 items and 20 timed ticks per core count.
+ */
+public class ParallelScalingReport {
+
+    private static final int WARMUP_TICKS = 10;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int maxCores = Runtime.getRuntime().availableProcessors();
+
+        Item[] template = InventoryGenerator.randomItems(42L, size);
+
+        System.out.println("items: " + size + ", ticks: " + ticks);
+        System.out.println("cores, ms/tick, items/sec, speedup");
+
+        double baseline = 0;
+        for (int cores = 1; cores <= maxCores; cores++) {
+            ForkJoinPool pool = new ForkJoinPool(cores);
+            ParallelismPolicy policy = ParallelismPolicy.of(pool, 0);
+            GildedRose app = new GildedRose(InventoryGenerator.copy(template));
+
+            for (int i = 0; i < WARMUP_TICKS; i++) {
+                app.updateQuality(policy);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ticks; i++) {
+                app.updateQuality(policy);
+            }
+            double msPerTick = (System.nanoTime() - start) / 1e6 / ticks;
+            pool.shutdown();
+
+            if (cores == 1) {
+                baseline = msPerTick;
+            }
+            System.out.printf("%d, %.2f, %.0f, %.2fx%n",
+                cores, msPerTick, size / (msPerTick / 1000), baseline / msPerTick);
+        }
+    }
+}
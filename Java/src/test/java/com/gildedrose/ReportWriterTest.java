@@ -0,0 +1,113 @@
+package com.gildedrose;
+
+/*
+ * Tests for ReportWriter.
+ *
+ * PROPERTY:
+ * The bytes written are exactly item.toString() + System.lineSeparator()
+ * per item, encoded in the writer's charset.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportWriterTest {
+
+    @Test
+    void matchesToStringForGeneratedInventory() throws IOException {
+        Item[] items = InventoryGenerator.randomItems(5L, 10_000);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportWriter out = new ReportWriter(bytes);
+        out.writeAll(items);
+        out.flush();
+
+        assertArrayEquals(expected(items, StandardCharsets.UTF_8), bytes.toByteArray());
+    }
+
+    @Test
+    void matchesToStringForEdgeValues() throws IOException {
+        Item[] items = {
+            new Item("Aged Brie", Integer.MIN_VALUE, Integer.MAX_VALUE),
+            new Item("Aged Brie", 0, -0),
+            new Item("Aged Brie", -1, 9),
+            new Item("Aged Brie", -10, 10),
+            new Item("Aged Brie", 999_999_999, -1_000_000_000),
+            new Item("Crème brûlée, 日本", 3, 4),
+            new Item("", 1, 2),
+            new Item(null, 1, 2)
+        };
+        for (Charset charset : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ReportWriter out = new ReportWriter(bytes, charset);
+            out.writeAll(items);
+            out.flush();
+
+            assertArrayEquals(expected(items, charset), bytes.toByteArray(), charset.name());
+        }
+    }
+
+    @Test
+    void smallBufferAndLongNamesThroughChannel() throws IOException {
+        // More distinct names than MAX_CACHED_NAMES, many longer than the buffer
+        Random random = new Random(9L);
+        Item[] items = new Item[ReportWriter.MAX_CACHED_NAMES + 1_000];
+        for (int i = 0; i < items.length; i++) {
+            StringBuilder name = new StringBuilder("item " + i + " ");
+            int length = random.nextInt(100);
+            for (int c = 0; c < length; c++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+            items[i] = new Item(name.toString(), random.nextInt(), random.nextInt());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportWriter out = new ReportWriter(Channels.newChannel(bytes), StandardCharsets.UTF_8, 32);
+        out.writeAll(items);
+        out.writeAll(items);
+        out.close();
+
+        byte[] once = expected(items, StandardCharsets.UTF_8);
+        byte[] twice = Arrays.copyOf(once, once.length * 2);
+        System.arraycopy(once, 0, twice, once.length, once.length);
+        assertArrayEquals(twice, bytes.toByteArray());
+    }
+
+    @Test
+    void rejectsCharsetsThatDoNotEncodeDigitsAsAscii() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new ReportWriter(new ByteArrayOutputStream(), StandardCharsets.UTF_16BE));
+    }
+
+    @Test
+    void writesTextLinesLikePrintln() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ReportWriter out = new ReportWriter(bytes);
+        out.writeLine("-------- day 0 --------");
+        out.newLine();
+        out.flush();
+
+        String separator = System.lineSeparator();
+        assertEquals("-------- day 0 --------" + separator + separator,
+                     new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] expected(Item[] items, Charset charset) {
+        StringBuilder text = new StringBuilder();
+        for (Item item : items) {
+            text.append(item).append(System.lineSeparator());
+        }
+        return text.toString().getBytes(charset);
+    }
+}
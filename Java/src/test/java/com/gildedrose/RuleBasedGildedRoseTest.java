@@ -0,0 +1,98 @@
+package com.gildedrose;
+
+/*
+ * Tests for RuleBasedGildedRose and the RuleBook registry.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RuleBasedGildedRoseTest {
+
+    @Test
+    void standardRulesMatchGildedRose() {
+        Item[] items = InventoryGenerator.randomItems(21L, 2_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        RuleBasedGildedRose app = new RuleBasedGildedRose(InventoryGenerator.copy(items), RuleBook.standard());
+
+        for (int day = 0; day < 60; day++) {
+            reference.updateQuality();
+            app.updateQuality();
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(reference.items[i].toString(), app.items[i].toString(), "item " + i);
+        }
+    }
+
+    @Test
+    void newItemTypeIsAddedByRegisteringARule() {
+        // WHAT: A custom category without touching the update loop
+        // WHY: This is the extension point that replaces editing if/else chains
+
+        ItemRule fineWine = ItemRule.builder()
+            .qualityChange(2)
+            .expiredQualityChange(-5)
+            .build();
+        RuleBook rules = RuleBook.standard().forNameContaining("Wine", fineWine);
+
+        Item[] items = new Item[] {
+            new Item("Fine Wine", 1, 10)
+        };
+        RuleBasedGildedRose app = new RuleBasedGildedRose(items, rules);
+
+        app.updateQuality();
+        assertEquals(12, app.items[0].quality);
+
+        app.updateQuality();
+        assertEquals(9, app.items[0].quality);
+    }
+
+    @Test
+    void rulesRegisteredAfterATickApplyToExistingItems() {
+        // WHAT: A rule added once the engine has resolved every name
+        // WHY: Cached rule ids must not keep items on the old rule
+
+        RuleBook rules = RuleBook.standard();
+        Item[] items = new Item[] {
+            new Item("Fine Wine", 5, 10)
+        };
+        RuleBasedGildedRose app = new RuleBasedGildedRose(items, rules);
+        app.updateQuality();
+        assertEquals(9, app.items[0].quality);
+
+        rules.forNameContaining("Wine", ItemRule.AGED_BRIE);
+        app.updateQuality();
+        assertEquals(10, app.items[0].quality);
+    }
+
+    @Test
+    void exactNamesWinOverFragments() {
+        RuleBook rules = RuleBook.standard()
+            .forName("Conjured Sulfuras", ItemRule.LEGENDARY);
+
+        Item[] items = new Item[] {
+            new Item("Conjured Sulfuras", 5, 40),
+            new Item("Conjured Mana Cake", 5, 40)
+        };
+        new RuleBasedGildedRose(items, rules).updateQuality();
+
+        assertEquals(40, items[0].quality);
+        assertEquals(38, items[1].quality);
+    }
+
+    @Test
+    void renamedItemFollowsItsNewRule() {
+        Item[] items = new Item[] {
+            new Item("Elixir of the Mongoose", 5, 10)
+        };
+        RuleBasedGildedRose app = new RuleBasedGildedRose(items, RuleBook.standard());
+        app.updateQuality();
+
+        items[0].name = "Aged Brie";
+        app.updateQuality();
+
+        assertEquals(10, items[0].quality);
+    }
+}
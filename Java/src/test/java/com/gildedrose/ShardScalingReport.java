@@ -0,0 +1,96 @@
+package com.gildedrose;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints ShardedInventoryService throughput and shard tail latency
+ * as the number of shards and the skew of shop sizes grow.
+
+ * Usage: ShardScalingReport [total items] [shops] [ticks]
+ * - uniform: every shop has the same number of items
+ * - skewed: shop sizes follow a Zipf-like 1/rank distribution,
+ *   so a few shards carry most of the items
+ */
+public class ShardScalingReport {
+
+    private static final int[] SHARD_COUNTS = {1, 4, 16, 64, 256};
+
+    public static void main(String[] args) throws InterruptedException {
+        int totalItems = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int shops = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("items: " + totalItems + ", shops: " + shops + ", threads: " + threads);
+        System.out.println("skew, shards, items/sec, shard p50 ms, shard p99 ms, shard max ms");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (boolean skewed : new boolean[] {false, true}) {
+                for (int shards : SHARD_COUNTS) {
+                    run(executor, skewed, shards, totalItems, shops, ticks);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void run(ExecutorService executor, boolean skewed, int shards,
+                            int totalItems, int shops, int ticks) throws InterruptedException {
+        ShardedInventoryService service = new ShardedInventoryService(shards, executor, 1, TimeUnit.SECONDS);
+        int[] sizes = shopSizes(skewed, totalItems, shops);
+        Random random = new Random(42L);
+        for (int shop = 0; shop < shops; shop++) {
+            Item[] items = new Item[sizes[shop]];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = InventoryGenerator.randomItem(random);
+            }
+            service.addShop("shop-" + shop, items);
+        }
+
+        // Warm up, then measure
+        for (int i = 0; i < 5; i++) {
+            service.updateQuality();
+        }
+        for (int s = 0; s < shards; s++) {
+            service.stats(s).tickLatency().reset();
+        }
+        LatencyHistogram shardLatency = new LatencyHistogram();
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            service.updateQuality();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (int s = 0; s < shards; s++) {
+            LatencyHistogram histogram = service.stats(s).tickLatency();
+            // One sample per shard: that shard's own p99 tick latency
+            shardLatency.record(histogram.percentileNanos(0.99));
+        }
+
+        System.out.printf("%s, %d, %.0f, %.2f, %.2f, %.2f%n",
+            skewed ? "skewed" : "uniform", shards,
+            (double) totalItems * ticks / seconds,
+            shardLatency.percentileNanos(0.50) / 1e6,
+            shardLatency.percentileNanos(0.99) / 1e6,
+            shardLatency.maxNanos() / 1e6);
+    }
+
+    private static int[] shopSizes(boolean skewed, int totalItems, int shops) {
+        double[] weights = new double[shops];
+        double sum = 0;
+        for (int shop = 0; shop < shops; shop++) {
+            weights[shop] = skewed ? 1.0 / (shop + 1) : 1.0;
+            sum += weights[shop];
+        }
+        int[] sizes = new int[shops];
+        for (int shop = 0; shop < shops; shop++) {
+            sizes[shop] = (int) (totalItems * weights[shop] / sum);
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.gildedrose;
+
+/*
+ * Tests for ShardedInventoryService.
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShardedInventoryServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    void everyShopGetsTheGildedRoseRules() throws InterruptedException {
+        ShardedInventoryService service = new ShardedInventoryService(8, executor, 1, TimeUnit.SECONDS);
+        GildedRose[] references = new GildedRose[50];
+        for (int shop = 0; shop < references.length; shop++) {
+            Item[] items = InventoryGenerator.randomItems(shop, 100);
+            references[shop] = new GildedRose(InventoryGenerator.copy(items));
+            service.addShop("shop-" + shop, items);
+        }
+
+        for (int day = 0; day < 20; day++) {
+            service.updateQuality();
+            for (GildedRose reference : references) {
+                reference.updateQuality();
+            }
+        }
+
+        for (int shop = 0; shop < references.length; shop++) {
+            Item[] actual = service.items("shop-" + shop);
+            assertEquals(references[shop].items.length, actual.length);
+            for (int i = 0; i < actual.length; i++) {
+                assertEquals(references[shop].items[i].toString(), actual[i].toString());
+            }
+        }
+    }
+
+    @Test
+    void shardStatsCountTicksAndOverruns() throws InterruptedException {
+        // A zero budget means every tick is an overrun
+        ShardedInventoryService service = new ShardedInventoryService(2, executor, 0, TimeUnit.NANOSECONDS);
+        service.addShop("north", InventoryGenerator.randomItems(1L, 1_000));
+
+        service.updateQuality();
+        service.updateQuality();
+
+        ShardedInventoryService.ShardStats stats = service.stats(service.shardOf("north"));
+        assertEquals(1_000, stats.items());
+        assertEquals(2, stats.ticks());
+        assertEquals(2, stats.overruns());
+        assertEquals(2, stats.tickLatency().count());
+    }
+}
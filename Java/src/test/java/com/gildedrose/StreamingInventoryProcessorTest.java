@@ -0,0 +1,60 @@
+package com.gildedrose;
+
+/*
+ * Tests for StreamingInventoryProcessor and the line format it reads.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingInventoryProcessorTest {
+
+    @Test
+    void parsesNamesContainingTheSeparator() {
+        Item item = ItemLineFormat.parse("Sulfuras, Hand of Ragnaros, -1, 80");
+
+        assertEquals("Sulfuras, Hand of Ragnaros", item.name);
+        assertEquals(-1, item.sellIn);
+        assertEquals(80, item.quality);
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        assertThrows(IllegalArgumentException.class, () -> ItemLineFormat.parse("Aged Brie"));
+        assertThrows(IllegalArgumentException.class, () -> ItemLineFormat.parse("Aged Brie, two, 3"));
+    }
+
+    @Test
+    void streamedOutputMatchesInMemoryUpdate() throws IOException {
+        // WHAT: Inventory larger than one chunk, with a partial last chunk
+        // WHY: Chunking must not change any result
+
+        Item[] items = InventoryGenerator.randomItems(3L, 1_000);
+        StringBuilder input = new StringBuilder();
+        for (Item item : items) {
+            input.append(item).append(System.lineSeparator());
+        }
+
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        for (int day = 0; day < 3; day++) {
+            reference.updateQuality();
+        }
+        StringBuilder expected = new StringBuilder();
+        for (Item item : reference.items) {
+            expected.append(item).append(System.lineSeparator());
+        }
+
+        StringWriter output = new StringWriter();
+        long processed = new StreamingInventoryProcessor(64, 3)
+            .process(new StringReader(input.toString()), output);
+
+        assertEquals(items.length, processed);
+        assertEquals(expected.toString(), output.toString());
+    }
+}
@@ -0,0 +1,73 @@
+package com.gildedrose;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a large inventory file, streams it through
+ * StreamingInventoryProcessor and prints throughput and peak memory.
+
+ * Usage: StreamingThroughputReport [items] [chunkSize]
+ * The default of 100,000,000 items is a file of roughly 3 GB;
+ * run with a small -Xmx (e.g. -Xmx64m) to show memory stays flat.
+ */
+public class StreamingThroughputReport {
+
+    public static void main(String[] args) throws IOException {
+        long size = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : StreamingInventoryProcessor.DEFAULT_CHUNK_SIZE;
+
+        Path input = Files.createTempFile("inventory-in", ".txt");
+        Path output = Files.createTempFile("inventory-out", ".txt");
+        try {
+            writeInventory(input, size);
+            long bytes = Files.size(input);
+
+            long start = System.nanoTime();
+            long items = new StreamingInventoryProcessor(chunkSize, 1).process(input, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("items: %d, input: %.1f MB, chunk: %d%n", items, bytes / 1e6, chunkSize);
+            System.out.printf("time: %.2f s, %.0f items/sec, %.1f MB/sec%n",
+                seconds, items / seconds, bytes / 1e6 / seconds);
+            System.out.printf("max heap: %.1f MB, peak RSS: %s%n",
+                Runtime.getRuntime().maxMemory() / 1e6, peakResidentSetSize());
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private static void writeInventory(Path file, long size) throws IOException {
+        Random random = new Random(42L);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (long i = 0; i < size; i++) {
+                writer.write(InventoryGenerator.randomItem(random).toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Peak resident set size as reported by Linux (VmHWM), if available.
+     */
+    private static String peakResidentSetSize() throws IOException {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        List<String> lines = Files.readAllLines(status, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            if (line.startsWith("VmHWM:")) {
+                return line.substring("VmHWM:".length()).trim();
+            }
+        }
+        return "n/a";
+    }
+}
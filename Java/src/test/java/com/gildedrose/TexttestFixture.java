@@ -1,8 +1,13 @@
 package com.gildedrose;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+
 public class TexttestFixture {
-    public static void main(String[] args) {
-        System.out.println("OMGHAI!");
+    public static void main(String[] args) throws IOException {
+        // Same bytes as System.out.println, without a String per item
+        ReportWriter out = new ReportWriter(System.out, Charset.defaultCharset());
+        out.writeLine("OMGHAI!");
 
         Item[] items = new Item[] {
                 new Item("+5 Dexterity Vest", 10, 20), //
@@ -24,14 +29,13 @@ public class TexttestFixture {
         }
 
         for (int i = 0; i < days; i++) {
-            System.out.println("-------- day " + i + " --------");
-            System.out.println("name, sellIn, quality");
-            for (Item item : items) {
-                System.out.println(item);
-            }
-            System.out.println();
+            out.writeLine("-------- day " + i + " --------");
+            out.writeLine("name, sellIn, quality");
+            out.writeAll(items);
+            out.newLine();
             app.updateQuality();
         }
+        out.flush();
     }
 
 }
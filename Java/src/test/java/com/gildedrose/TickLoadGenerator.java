@@ -0,0 +1,107 @@
+package com.gildedrose;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Prints TickServer throughput and request latency for batch sizes
+ * from 1 to 100,000 items.
+
+ * Usage: TickLoadGenerator [host:port | local] [pipeline depth] [items per batch size]
+ * - local (the default) starts a TickServer in this JVM on a free port
+ * - pipeline depth: requests in flight per connection
+ * - items per batch size: how many items to send in total for each
+ *   batch size (at least 200 requests are always sent)
+
+ * Latency is measured from send() to the matching receive(), so with
+ * a pipeline depth above 1 it includes time queued behind earlier
+ * requests.
+ */
+public class TickLoadGenerator {
+
+    private static final int[] BATCH_SIZES = {1, 10, 100, 1_000, 10_000, 100_000};
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "local";
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long itemsPerSize = args.length > 2 ? Long.parseLong(args[2]) : 2_000_000;
+
+        TickServer server = null;
+        Thread serverThread = null;
+        InetSocketAddress address;
+        if (target.equals("local")) {
+            server = TickServer.open(0);
+            serverThread = new Thread(server, "tick-server");
+            serverThread.start();
+            address = server.address();
+        } else {
+            int colon = target.lastIndexOf(':');
+            address = new InetSocketAddress(target.substring(0, colon), Integer.parseInt(target.substring(colon + 1)));
+        }
+
+        System.out.println("server: " + address + ", pipeline depth: " + depth);
+        System.out.println("batch size, requests, items/sec, requests/sec, p50 ms, p99 ms, max ms");
+        try (TickClient client = TickClient.connect(address)) {
+            for (int batchSize : BATCH_SIZES) {
+                int requests = (int) Math.max(200, itemsPerSize / batchSize);
+                // Warm up, then measure
+                run(client, batchSize, Math.max(20, requests / 10), depth);
+                run(client, batchSize, requests, depth).print(batchSize, requests);
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+                serverThread.join();
+            }
+        }
+    }
+
+    private static Result run(TickClient client, int batchSize, int requests, int depth) throws IOException {
+        Item[][] batches = new Item[depth][];
+        for (int d = 0; d < depth; d++) {
+            batches[d] = InventoryGenerator.randomItems(d, batchSize);
+        }
+        long[] sentAt = new long[depth];
+        LatencyHistogram latency = new LatencyHistogram();
+
+        long start = System.nanoTime();
+        int sent = 0;
+        int received = 0;
+        while (received < requests) {
+            // Keep "depth" requests in flight
+            while (sent < requests && sent - received < depth) {
+                int slot = sent % depth;
+                sentAt[slot] = System.nanoTime();
+                client.send(batches[slot], 1);
+                sent++;
+            }
+            int slot = received % depth;
+            client.receive(batches[slot]);
+            latency.record(System.nanoTime() - sentAt[slot]);
+            received++;
+        }
+        return new Result(System.nanoTime() - start, latency);
+    }
+
+    private static final class Result {
+
+        final long nanos;
+        final LatencyHistogram latency;
+
+        Result(long nanos, LatencyHistogram latency) {
+            this.nanos = nanos;
+            this.latency = latency;
+        }
+
+        void print(int batchSize, int requests) {
+            double seconds = nanos / 1e9;
+            System.out.printf("%d, %d, %.0f, %.0f, %.3f, %.3f, %.3f%n",
+                batchSize, requests,
+                (double) batchSize * requests / seconds,
+                requests / seconds,
+                latency.percentileNanos(0.50) / 1e6,
+                latency.percentileNanos(0.99) / 1e6,
+                latency.maxNanos() / 1e6);
+        }
+    }
+}
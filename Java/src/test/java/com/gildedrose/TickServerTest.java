@@ -0,0 +1,166 @@
+package com.gildedrose;
+
+/*
+ * Tests for TickServer, TickClient and TickProtocol over a real
+ * loopback connection.
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TickServerTest {
+
+    private TickServer server;
+    private Thread serverThread;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = TickServer.open(0);
+        serverThread = new Thread(server, "tick-server-test");
+        serverThread.start();
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        server.close();
+        serverThread.join(10_000);
+    }
+
+    @Test
+    void pipelinedBatchesMatchGildedRose() throws IOException {
+        int[] sizes = {1, 7, 1_000, 50_000};
+        Item[][] batches = new Item[sizes.length][];
+        try (TickClient client = TickClient.connect(server.address())) {
+            for (int b = 0; b < sizes.length; b++) {
+                batches[b] = InventoryGenerator.randomItems(b, sizes[b]);
+                assertEquals(b, client.send(batches[b], 1));
+            }
+            for (int b = 0; b < sizes.length; b++) {
+                assertEquals(b, client.receive(batches[b]));
+            }
+        }
+
+        for (int b = 0; b < sizes.length; b++) {
+            GildedRose reference = new GildedRose(InventoryGenerator.randomItems(b, sizes[b]));
+            reference.updateQuality();
+            for (int i = 0; i < sizes[b]; i++) {
+                assertEquals(reference.items[i].toString(), batches[b][i].toString());
+            }
+        }
+    }
+
+    @Test
+    void advancesSeveralDays() throws IOException {
+        Item[] items = InventoryGenerator.randomItems(211L, 2_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        for (int day = 0; day < 25; day++) {
+            reference.updateQuality();
+        }
+
+        try (TickClient client = TickClient.connect(server.address())) {
+            client.call(items, 25);
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(reference.items[i].toString(), items[i].toString());
+        }
+    }
+
+    @Test
+    void reportsErrorsAndKeepsServing() throws IOException {
+        try (TickClient client = TickClient.connect(server.address())) {
+            assertThrows(IOException.class, () -> client.call(new Item[] { new Item("Aged Brie", 1, 1) }, -1));
+
+            Item[] items = { new Item("Aged Brie", 1, 1) };
+            client.call(items, 1);
+            assertEquals("Aged Brie, 0, 2", items[0].toString());
+        }
+    }
+
+    @Test
+    void closesConnectionOnBadFrame() throws IOException {
+        try (Socket socket = new Socket(server.address().getAddress(), server.address().getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(ByteBuffer.allocate(4).putInt(-5).array());
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+            assertEquals(-1, in.read());
+        }
+
+        // Other clients are unaffected
+        try (TickClient client = TickClient.connect(server.address())) {
+            Item[] items = { new Item("Elixir of the Mongoose", 5, 7) };
+            client.call(items, 1);
+            assertEquals(4, items[0].sellIn);
+            assertEquals(6, items[0].quality);
+        }
+    }
+
+    @Test
+    void servesSmallRequestsAfterALargeFrame() throws IOException {
+        // WHAT: A frame larger than the read buffer, then normal ones
+        // WHY: The buffer grows for the large frame and shrinks back after
+
+        Item[] large = InventoryGenerator.randomItems(223L, 20_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(large));
+        reference.updateQuality();
+
+        try (TickClient client = TickClient.connect(server.address())) {
+            client.call(large, 1);
+            for (int i = 0; i < large.length; i++) {
+                assertEquals(reference.items[i].toString(), large[i].toString());
+            }
+
+            for (int call = 0; call < 3; call++) {
+                Item[] items = { new Item("Aged Brie", 1, 1) };
+                client.call(items, 1);
+                assertEquals("Aged Brie, 0, 2", items[0].toString());
+            }
+        }
+    }
+
+    @Test
+    void largeFrameArrivingInPiecesIsServed() throws Exception {
+        // WHAT: A frame larger than the read buffer, sent in 16 KiB pieces
+        // WHY: The grown buffer must be kept until the frame is complete
+
+        Item[] items = InventoryGenerator.randomItems(227L, 20_000);
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        reference.updateQuality();
+        ByteBuffer frame = TickProtocol.encodeRequest(9, 1, items);
+
+        try (Socket socket = new Socket(server.address().getAddress(), server.address().getPort())) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = socket.getOutputStream();
+            byte[] bytes = frame.array();
+            for (int offset = 0; offset < frame.limit(); offset += 16 * 1024) {
+                out.write(bytes, offset, Math.min(16 * 1024, frame.limit() - offset));
+                out.flush();
+                Thread.sleep(1);
+            }
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals(TickProtocol.RESPONSE_HEADER_SIZE + items.length * TickProtocol.RESPONSE_ITEM_SIZE,
+                in.readInt());
+            assertEquals(9, in.readInt());
+            assertEquals(TickProtocol.STATUS_OK, in.readInt());
+            assertEquals(items.length, in.readInt());
+            for (int i = 0; i < items.length; i++) {
+                assertEquals(reference.items[i].sellIn, in.readInt(), "sellIn of item " + i);
+                assertEquals(reference.items[i].quality, in.readInt(), "quality of item " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.gildedrose;
+
+/*
+ * Tests for TransitionTable.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransitionTableTest {
+
+    @Test
+    void generatedTableMatchesGildedRoseExhaustively() {
+        TransitionTable.generate().verify();
+    }
+
+    @Test
+    void bucketsSellIn() {
+        assertEquals(0, TransitionTable.bucket(Integer.MIN_VALUE));
+        assertEquals(0, TransitionTable.bucket(0));
+        assertEquals(1, TransitionTable.bucket(1));
+        assertEquals(1, TransitionTable.bucket(5));
+        assertEquals(2, TransitionTable.bucket(6));
+        assertEquals(2, TransitionTable.bucket(10));
+        assertEquals(3, TransitionTable.bucket(11));
+        assertEquals(3, TransitionTable.bucket(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void fallsBackOutsideTheTable() {
+        Item[] items = new Item[] {
+            new Item(InventoryGenerator.SULFURAS, -1, 80),
+            new Item(InventoryGenerator.AGED_BRIE, -2, 60),
+            new Item("Elixir of the Mongoose", 4, -3),
+            new Item("Conjured Mana Cake", Integer.MIN_VALUE, 10) };
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        ColumnarInventory inventory = ColumnarInventory.fromItems(items);
+
+        reference.updateQuality();
+        TransitionTable.generate().apply(inventory);
+
+        Item[] actual = inventory.toItems();
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(reference.items[i].toString(), actual[i].toString());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.gildedrose;
+
+/*
+ * Differential tests for VectorKernel.
+ *
+ * The kernel is run directly (not through isSupported()), so the
+ * lane arithmetic is checked even on JVMs that would fall back.
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VectorKernelTest {
+
+    @Test
+    void saturateMatchesRepeatedIncreaseAndDecrease() {
+        int[] qualities = { Integer.MIN_VALUE, -5, 0, 1, 2, 48, 49, 50, 51, 80, Integer.MAX_VALUE };
+        for (int q : qualities) {
+            for (int d = -2; d <= 3; d++) {
+                int expected = d >= 0 ? ColumnarInventory.increase(q, d) : ColumnarInventory.decrease(q, -d);
+                assertEquals(expected, VectorKernel.saturate(q, d), "q=" + q + " d=" + d);
+            }
+        }
+    }
+
+    @Test
+    void matchesGildedRoseOnRandomInventories() {
+        for (long seed = 0; seed < 20; seed++) {
+            Item[] items = InventoryGenerator.randomItems(seed, 1_000);
+            assertMatchesGildedRose(items, 60, seed);
+        }
+    }
+
+    @Test
+    void matchesGildedRoseOnExtremeValues() {
+        // sellIn / quality far outside what the generator produces, including overflow edges
+        Random random = new Random(171L);
+        int[] edges = { Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1_000, -1, 0, 1, 5, 6, 10, 11, 49, 50, 51,
+                        1_000, Integer.MAX_VALUE - 1, Integer.MAX_VALUE };
+        String[] names = { "+5 Dexterity Vest", InventoryGenerator.AGED_BRIE, InventoryGenerator.BACKSTAGE_PASS,
+                           InventoryGenerator.SULFURAS, "Conjured Mana Cake" };
+        Item[] items = new Item[5_000];
+        for (int i = 0; i < items.length; i++) {
+            int sellIn = random.nextBoolean() ? edges[random.nextInt(edges.length)] : random.nextInt(40) - 10;
+            int quality = random.nextBoolean() ? edges[random.nextInt(edges.length)] : random.nextInt(60) - 5;
+            items[i] = new Item(names[random.nextInt(names.length)], sellIn, quality);
+        }
+
+        assertMatchesGildedRose(items, 15, 171L);
+    }
+
+    private static void assertMatchesGildedRose(Item[] items, int days, long seed) {
+        GildedRose reference = new GildedRose(InventoryGenerator.copy(items));
+        ColumnarInventory columnar = ColumnarInventory.fromItems(items);
+        VectorKernel kernel = VectorKernel.forCategories(columnar.category);
+
+        for (int day = 0; day < days; day++) {
+            reference.updateQuality();
+            kernel.apply(columnar.sellIn, columnar.quality);
+            for (int i = 0; i < items.length; i++) {
+                assertEquals(reference.items[i].sellIn, columnar.sellIn[i], "sellIn, seed " + seed + " day " + day);
+                assertEquals(reference.items[i].quality, columnar.quality[i], "quality, seed " + seed + " day " + day);
+            }
+        }
+    }
+}